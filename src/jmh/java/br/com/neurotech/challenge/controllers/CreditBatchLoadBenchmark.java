@@ -0,0 +1,116 @@
+package br.com.neurotech.challenge.controllers;
+
+import br.com.neurotech.challenge.ChallengeJavaDeveloperApplication;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.repositories.ClientRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Verificações por ms com a aplicação inteira no ar (porta aleatória), para conferir a meta de ≥10x do lote:
+//   batch  -> um POST /api/credit/automotive/batch com BATCH pares (clientId, modelo), resposta NDJSON lida até o fim
+//   single -> BATCH GETs /api/credit/client/{id}/automotive em sequência, como faria um chamador sem o lote
+// @OperationsPerInvocation deixa as duas no mesmo denominador (verificações). Caches e junção de chamadas
+// ficam desligados para que cada verificação vá ao banco nos dois caminhos.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(4)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class CreditBatchLoadBenchmark {
+
+    private static final int CLIENTS = 10_000;
+    private static final int BATCH = 1000;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SpringApplication.run(ChallengeJavaDeveloperApplication.class,
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--app.client-cache.maximum-size=0",
+                "--app.decision-cache.maximum-size=0",
+                "--app.credit-check.coalescing-timeout=PT0S",
+                "--app.column-store.enabled=false",
+                "--app.credit-log.enabled=false");
+
+        ClientRepository repository = context.getBean(ClientRepository.class);
+        Random random = new Random(42L);
+        List<NeurotechClient> clients = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            clients.add(NeurotechClient.builder()
+                    .name("Cliente " + i)
+                    .age(16 + random.nextInt(60))
+                    .income(random.nextDouble() * 20000.0)
+                    .build());
+        }
+        repository.saveAll(clients);
+
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/credit";
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int batch() throws Exception {
+        // A sequência começa em 1, então os IDs gravados no setUp vão de 1 a CLIENTS
+        StringBuilder body = new StringBuilder(BATCH * 40).append('[');
+        for (int i = 0; i < BATCH; i++) {
+            long id = randomId();
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"clientId\":").append(id).append(",\"model\":\"").append(model(id)).append("\"}");
+        }
+        body.append(']');
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/automotive/batch"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int single() throws Exception {
+        int status = 0;
+        for (int i = 0; i < BATCH; i++) {
+            long id = randomId();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/client/" + id + "/automotive?model=" + model(id)))
+                    .header("X-Omit-Links", "true")
+                    .GET()
+                    .build();
+            status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+        return status;
+    }
+
+    private static long randomId() {
+        return 1 + ThreadLocalRandom.current().nextInt(CLIENTS);
+    }
+
+    private static String model(long id) {
+        return (id & 1) == 0 ? "HATCH" : "SUV";
+    }
+}
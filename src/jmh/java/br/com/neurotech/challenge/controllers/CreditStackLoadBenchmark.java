@@ -0,0 +1,107 @@
+package br.com.neurotech.challenge.controllers;
+
+import br.com.neurotech.challenge.ChallengeJavaDeveloperApplication;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.repositories.ClientRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Carga lado a lado da análise de crédito pelas duas pilhas, com a aplicação inteira no ar (porta aleatória):
+//   mvc      -> /api/credit/client/{id}/automotive          (JPA, thread do Tomcat espera o banco)
+//   reactive -> /api/credit/reactive/client/{id}/automotive (R2DBC, thread liberada durante a consulta)
+// Throughput e SampleTime (p0.99) vêm do próprio JMH; o pico de threads da JVM é impresso a cada iteração.
+// Caches e junção de chamadas desligados para que toda requisição vá ao banco nas duas pilhas.
+// Com VIRTUAL_THREADS=true a pilha MVC deixa de depender do tamanho do pool do Tomcat.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(128)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class CreditStackLoadBenchmark {
+
+    private static final int CLIENTS = 10_000;
+
+    @Param({"mvc", "reactive"})
+    public String stack;
+
+    @Param({"false"})
+    public boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SpringApplication.run(ChallengeJavaDeveloperApplication.class,
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--app.client-cache.maximum-size=0",
+                "--app.decision-cache.maximum-size=0",
+                "--app.credit-check.coalescing-timeout=PT0S",
+                "--app.column-store.enabled=false",
+                "--app.credit-log.enabled=false");
+
+        ClientRepository repository = context.getBean(ClientRepository.class);
+        Random random = new Random(42L);
+        List<NeurotechClient> clients = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            clients.add(NeurotechClient.builder()
+                    .name("Cliente " + i)
+                    .age(16 + random.nextInt(60))
+                    .income(random.nextDouble() * 20000.0)
+                    .build());
+        }
+        repository.saveAll(clients);
+
+        String port = context.getEnvironment().getProperty("local.server.port");
+        String path = "reactive".equals(stack) ? "/api/credit/reactive/client/" : "/api/credit/client/";
+        baseUrl = "http://localhost:" + port + path;
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeakThreads() {
+        threads.resetPeakThreadCount();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportThreads() {
+        System.out.printf("%n[%s] threads: pico %d, ativas %d%n", stack, threads.getPeakThreadCount(), threads.getThreadCount());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int checkCredit() throws Exception {
+        // A sequência começa em 1, então os IDs gravados no setUp vão de 1 a CLIENTS
+        long id = 1 + ThreadLocalRandom.current().nextInt(CLIENTS);
+        String model = (id & 1) == 0 ? "HATCH" : "SUV";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + id + "/automotive?model=" + model))
+                .header("X-Omit-Links", "true")
+                .GET()
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.neurotech.challenge.controllers;
+
+import br.com.neurotech.challenge.entity.VehicleModel;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+// Custo por requisição do cabeçalho Location: proxy do methodOn contra o template pré-compilado
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkBuildingBenchmark {
+
+    private LinkTemplates links;
+    private long clientId;
+
+    @Setup
+    public void setUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        links = new LinkTemplates(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public String methodOnProxy() {
+        return linkTo(methodOn(CreditController.class).checkCredit(++clientId, VehicleModel.HATCH))
+                .withSelfRel().toUri().toString();
+    }
+
+    @Benchmark
+    public HttpHeaders precompiledTemplate() {
+        return links.creditCheckLocation(++clientId, VehicleModel.HATCH);
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.neurotech.challenge.controllers;
+
+import br.com.neurotech.challenge.ChallengeJavaDeveloperApplication;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.repositories.ClientRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Perfil padrão x perfil perf (pool dimensionado, sem log de SQL, caches de statements e de planos), com a
+// aplicação inteira no ar (porta aleatória). Ao contrário dos outros benchmarks de carga, show-sql não é
+// sobrescrito: o log de SQL do perfil padrão faz parte do que está sendo comparado. Caches da aplicação
+// ficam desligados para que leituras, análises e cadastros cheguem ao banco nos dois perfis.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(64)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ProfileLoadBenchmark {
+
+    private static final int CLIENTS = 10_000;
+
+    @Param({"default", "perf"})
+    public String profile;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SpringApplication.run(ChallengeJavaDeveloperApplication.class,
+                "--server.port=0",
+                "--spring.profiles.active=" + profile,
+                "--logging.level.root=WARN",
+                "--app.client-cache.maximum-size=0",
+                "--app.decision-cache.maximum-size=0",
+                "--app.credit-check.coalescing-timeout=PT0S",
+                "--app.credit-log.enabled=false");
+
+        ClientRepository repository = context.getBean(ClientRepository.class);
+        Random random = new Random(42L);
+        List<NeurotechClient> clients = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            clients.add(NeurotechClient.builder()
+                    .name("Cliente " + i)
+                    .age(16 + random.nextInt(60))
+                    .income(random.nextDouble() * 20000.0)
+                    .build());
+        }
+        repository.saveAll(clients);
+
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int readAndCheck() throws Exception {
+        // A sequência começa em 1, então os IDs gravados no setUp vão de 1 a CLIENTS
+        long id = 1 + ThreadLocalRandom.current().nextInt(CLIENTS);
+        int client = send(HttpRequest.newBuilder(URI.create(baseUrl + "/neurotech-clients/" + id)).GET());
+        int credit = send(HttpRequest.newBuilder(URI.create(
+                baseUrl + "/credit/client/" + id + "/automotive?model=" + ((id & 1) == 0 ? "HATCH" : "SUV"))).GET());
+        return client + credit;
+    }
+
+    @Benchmark
+    public int create() throws Exception {
+        int age = 18 + ThreadLocalRandom.current().nextInt(60);
+        String body = "{\"name\":\"Cliente novo\",\"age\":" + age + ",\"income\":5000.0}";
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/neurotech-clients"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    private int send(HttpRequest.Builder request) throws Exception {
+        return httpClient.send(request.header("X-Omit-Links", "true").build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,107 @@
+package br.com.neurotech.challenge.controllers;
+
+import br.com.neurotech.challenge.ChallengeJavaDeveloperApplication;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.repositories.ClientRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Threads de plataforma x threads virtuais no Tomcat (spring.threads.virtual.enabled), com a aplicação inteira
+// no ar (porta aleatória). Cada operação lê um cliente e faz uma análise de crédito, as duas indo ao banco
+// (caches desligados). Com 512 chamadores simultâneos o pool de plataforma (200 threads) enfileira conexões,
+// enquanto no modo virtual o limitador do DataSource (app.datasource.concurrency-limit) segura o excesso.
+// Throughput e SampleTime (p0.99) vêm do JMH; o pico de threads da JVM é impresso a cada iteração.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(512)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ThreadModelLoadBenchmark {
+
+    private static final int CLIENTS = 10_000;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SpringApplication.run(ChallengeJavaDeveloperApplication.class,
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--app.client-cache.maximum-size=0",
+                "--app.decision-cache.maximum-size=0",
+                "--app.credit-check.coalescing-timeout=PT0S",
+                "--app.column-store.enabled=false",
+                "--app.credit-log.enabled=false");
+
+        ClientRepository repository = context.getBean(ClientRepository.class);
+        Random random = new Random(42L);
+        List<NeurotechClient> clients = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            clients.add(NeurotechClient.builder()
+                    .name("Cliente " + i)
+                    .age(16 + random.nextInt(60))
+                    .income(random.nextDouble() * 20000.0)
+                    .build());
+        }
+        repository.saveAll(clients);
+
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetPeakThreads() {
+        threads.resetPeakThreadCount();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportThreads() {
+        System.out.printf("%n[virtual=%s] threads: pico %d, ativas %d%n", virtualThreads,
+                threads.getPeakThreadCount(), threads.getThreadCount());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int readAndCheck() throws Exception {
+        // A sequência começa em 1, então os IDs gravados no setUp vão de 1 a CLIENTS
+        long id = 1 + ThreadLocalRandom.current().nextInt(CLIENTS);
+        int client = send(baseUrl + "/neurotech-clients/" + id);
+        int credit = send(baseUrl + "/credit/client/" + id + "/automotive?model=" + ((id & 1) == 0 ? "HATCH" : "SUV"));
+        return client + credit;
+    }
+
+    private int send(String url) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("X-Omit-Links", "true")
+                .GET()
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.neurotech.challenge.converters;
+
+import br.com.neurotech.challenge.dtos.NeurotechClientDto;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientConverterBenchmark {
+
+    private final ClientConverter converter = new ClientConverter();
+    private NeurotechClient client;
+    private NeurotechClientDto dto;
+
+    @Setup
+    public void setUp() {
+        client = NeurotechClient.builder().id(1L).name("Maria Silva").age(30).income(8500.0).version(0L).build();
+        dto = new NeurotechClientDto(1L, "Maria Silva", 30, 8500.0);
+    }
+
+    @Benchmark
+    public NeurotechClientDto convertToDto() {
+        return converter.convertToDto(client);
+    }
+
+    @Benchmark
+    public NeurotechClient convertToModel() {
+        return converter.convertToModel(dto);
+    }
+}
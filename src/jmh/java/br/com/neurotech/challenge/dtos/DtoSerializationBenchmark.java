@@ -0,0 +1,55 @@
+package br.com.neurotech.challenge.dtos;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+
+import java.util.concurrent.TimeUnit;
+
+// Serialização dos DTOs com links, no JSON puro do Jackson e no formato HAL usado pela API
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoSerializationBenchmark {
+
+    @Param({"hal", "plain"})
+    public String format;
+
+    private ObjectMapper mapper;
+    private NeurotechClientDto client;
+    private CreditCheckResponseDto creditResponse;
+
+    @Setup
+    public void setUp() {
+        mapper = new ObjectMapper();
+        if ("hal".equals(format)) {
+            mapper.registerModule(new Jackson2HalModule());
+            mapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                    new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+        }
+
+        client = new NeurotechClientDto(1L, "Maria Silva", 30, 8500.0);
+        client.add(Link.of("http://localhost:8080/api/neurotech-clients/1").withSelfRel());
+
+        creditResponse = new CreditCheckResponseDto(1L, "Maria Silva", "HATCH", true,
+                "Apto para crédito automotivo na modalidade: Crédito com Juros Fixos (5% a.a)");
+        creditResponse.add(Link.of("http://localhost:8080/api/credit/automotive?clientId=1&model=HATCH").withSelfRel());
+    }
+
+    @Benchmark
+    public byte[] serializeClient() throws Exception {
+        return mapper.writeValueAsBytes(client);
+    }
+
+    @Benchmark
+    public byte[] serializeCreditCheckResponse() throws Exception {
+        return mapper.writeValueAsBytes(creditResponse);
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.neurotech.challenge.dtos;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Lista grande montada e serializada nas duas representações. Os bytes alocados por operação vêm do
+// profiler de GC (gc.alloc.rate.norm); o tamanho de cada payload é impresso no setup.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeanPayloadBenchmark {
+
+    @Param({"10000"})
+    public int size;
+
+    private final ObjectMapper halMapper = new ObjectMapper();
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Setup
+    public void setUp() throws Exception {
+        halMapper.registerModule(new Jackson2HalModule());
+        halMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+
+        System.out.printf("%nPayload para %d itens: clientes HAL=%d bytes, lean=%d bytes; hatch mapas=%d bytes, records=%d bytes%n",
+                size, clientsHal().length, clientsLean().length, hatchMaps().length, hatchRecords().length);
+    }
+
+    @Benchmark
+    public byte[] clientsHal() throws Exception {
+        List<NeurotechClientDto> clients = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            NeurotechClientDto dto = new NeurotechClientDto((long) i, "Cliente " + i, 18 + i % 60, 1000.0 + i);
+            dto.add(Link.of("http://localhost:8080/api/neurotech-clients/" + i).withSelfRel());
+            clients.add(dto);
+        }
+        return halMapper.writeValueAsBytes(clients);
+    }
+
+    @Benchmark
+    public byte[] clientsLean() throws Exception {
+        List<LeanClientDto> clients = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            clients.add(new LeanClientDto((long) i, "Cliente " + i, 18 + i % 60, 1000.0 + i));
+        }
+        return mapper.writeValueAsBytes(clients);
+    }
+
+    @Benchmark
+    public byte[] hatchMaps() throws Exception {
+        List<Map<String, Object>> clients = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Map<String, Object> client = new HashMap<>();
+            client.put("name", "Cliente " + i);
+            client.put("income", 5000.0 + i % 10000);
+            clients.add(client);
+        }
+        return mapper.writeValueAsBytes(clients);
+    }
+
+    @Benchmark
+    public byte[] hatchRecords() throws Exception {
+        List<EligibleClientDto> clients = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            clients.add(new EligibleClientDto("Cliente " + i, 5000.0 + i % 10000));
+        }
+        return mapper.writeValueAsBytes(clients);
+    }
+}
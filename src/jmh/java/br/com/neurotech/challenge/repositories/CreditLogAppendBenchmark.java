@@ -0,0 +1,58 @@
+package br.com.neurotech.challenge.repositories;
+
+import br.com.neurotech.challenge.entity.CreditDecision;
+import br.com.neurotech.challenge.entity.CreditModality;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Custo de gravar uma verificação no log de auditoria, sozinho e com gravações concorrentes.
+// O force() em grupo roda fora da medição, como no agendador da aplicação.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreditLogAppendBenchmark {
+
+    private static final CreditDecision DECISION = CreditDecision.approved(CreditModality.FIXED_INTEREST);
+
+    private final AtomicLong clientIds = new AtomicLong();
+    private Path directory;
+    private MappedCreditRepository log;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("credit-log-bench");
+        log = new MappedCreditRepository(directory.toString(), 1 << 20, 0, "", 20, true);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        log.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public long append() {
+        return log.append(clientIds.incrementAndGet(), VehicleModel.HATCH, DECISION);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long appendContended() {
+        return log.append(clientIds.incrementAndGet(), VehicleModel.SUV, DECISION);
+    }
+}
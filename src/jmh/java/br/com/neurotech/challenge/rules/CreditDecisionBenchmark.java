@@ -0,0 +1,82 @@
+package br.com.neurotech.challenge.rules;
+
+import br.com.neurotech.challenge.entity.VehicleModel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Compara a cadeia de if/else original (que montava a mensagem a cada chamada) com a tabela pré-calculada
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreditDecisionBenchmark {
+
+    private static final int SAMPLES = 4096;
+    private static final VehicleModel[] MODELS = VehicleModel.values();
+
+    private final int[] ages = new int[SAMPLES];
+    private final double[] incomes = new double[SAMPLES];
+    private CompiledCreditRules rules;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42L);
+        for (int i = 0; i < SAMPLES; i++) {
+            ages[i] = 16 + random.nextInt(60);
+            incomes[i] = random.nextDouble() * 20000.0;
+        }
+        rules = new CreditRuleEngine(new DefaultResourceLoader(), new ObjectMapper(), "classpath:credit-rules.json").current();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void branchChain(Blackhole blackhole) {
+        for (int i = 0; i < SAMPLES; i++) {
+            blackhole.consume(legacyCheck(ages[i], incomes[i], MODELS[i & 1]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void flatRuleScan(Blackhole blackhole) {
+        for (int i = 0; i < SAMPLES; i++) {
+            blackhole.consume(rules.evaluate(ages[i], incomes[i], MODELS[i & 1]).message());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void lookupTable(Blackhole blackhole) {
+        for (int i = 0; i < SAMPLES; i++) {
+            blackhole.consume(rules.decide(ages[i], incomes[i], MODELS[i & 1]).message());
+        }
+    }
+
+    // Reprodução do caminho antigo do CreditService, incluindo a concatenação da mensagem
+    private static String legacyCheck(int age, double income, VehicleModel model) {
+        String creditType;
+        if (age >= 18 && age <= 25) {
+            creditType = "Crédito com Juros Fixos (5% a.a)";
+        } else if (age >= 21 && age <= 65 && income >= 5000.00 && income <= 15000.00) {
+            creditType = "Crédito com Juros Variáveis";
+        } else if (age > 65) {
+            creditType = "Crédito Consignado";
+        } else {
+            return "Cliente não atende aos critérios de crédito.";
+        }
+        if (model == VehicleModel.HATCH && !(income >= 5000.00 && income <= 15000.00)) {
+            return "Cliente não é elegível para crédito para veículo do tipo Hatch.";
+        }
+        if (model == VehicleModel.SUV && !(income > 8000.00 && age > 20)) {
+            return "Cliente não é elegível para crédito para veículo do tipo SUV.";
+        }
+        return "Apto para crédito automotivo na modalidade: " + creditType;
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.neurotech.challenge.service;
+
+import br.com.neurotech.challenge.ChallengeJavaDeveloperApplication;
+import br.com.neurotech.challenge.dtos.NeurotechClientDto;
+import br.com.neurotech.challenge.repositories.ClientRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Cadastros diretos (uma transação por cliente) x group commit (app.client-create.group-commit.enabled) com
+// 1, 16, 64 e 256 chamadores simultâneos de ClientService.create, no contexto Spring completo sem HTTP.
+// Com poucos chamadores o group commit só soma o max-delay à latência; o ganho aparece quando vários
+// cadastros chegam juntos e passam a dividir o mesmo commit. Throughput e SampleTime (p0.99) vêm do JMH.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ClientCreateGroupCommitBenchmark {
+
+    @Param({"false", "true"})
+    public boolean groupCommit;
+
+    private ConfigurableApplicationContext context;
+    private ClientService clientService;
+    private ClientRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SpringApplication.run(ChallengeJavaDeveloperApplication.class,
+                "--spring.main.web-application-type=none",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--app.client-create.group-commit.enabled=" + groupCommit,
+                "--app.column-store.enabled=false",
+                "--app.credit-log.enabled=false");
+        clientService = context.getBean(ClientService.class);
+        repository = context.getBean(ClientRepository.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clear() {
+        repository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public NeurotechClientDto create001() {
+        return create();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public NeurotechClientDto create016() {
+        return create();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public NeurotechClientDto create064() {
+        return create();
+    }
+
+    @Benchmark
+    @Threads(256)
+    public NeurotechClientDto create256() {
+        return create();
+    }
+
+    private NeurotechClientDto create() {
+        int age = 18 + ThreadLocalRandom.current().nextInt(60);
+        return clientService.create(new NeurotechClientDto(null, "Cliente novo", age, 5000.0));
+    }
+}
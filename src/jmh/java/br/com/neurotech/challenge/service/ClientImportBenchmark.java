@@ -0,0 +1,99 @@
+package br.com.neurotech.challenge.service;
+
+import br.com.neurotech.challenge.ChallengeJavaDeveloperApplication;
+import br.com.neurotech.challenge.dtos.NeurotechClientDto;
+import br.com.neurotech.challenge.repositories.ClientRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Linhas gravadas por segundo no H2 da aplicação (contexto Spring completo, sem HTTP):
+//   json   -> ClientImportService.importJson com ROWS elementos (blocos de app.client-import.chunk-size)
+//   csv    -> ClientImportService.importCsv com as mesmas ROWS linhas
+//   single -> ROWS chamadas a ClientService.create, uma transação por cliente
+// @OperationsPerInvocation deixa os três modos em linhas/s. A tabela é esvaziada a cada iteração.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ClientImportBenchmark {
+
+    private static final int ROWS = 5000;
+
+    @Param({"json", "csv", "single"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+    private ClientImportService importService;
+    private ClientService clientService;
+    private ClientRepository repository;
+    private byte[] json;
+    private byte[] csv;
+    private List<NeurotechClientDto> clients;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SpringApplication.run(ChallengeJavaDeveloperApplication.class,
+                "--spring.main.web-application-type=none",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--app.column-store.enabled=false",
+                "--app.credit-log.enabled=false");
+        importService = context.getBean(ClientImportService.class);
+        clientService = context.getBean(ClientService.class);
+        repository = context.getBean(ClientRepository.class);
+
+        Random random = new Random(42L);
+        StringBuilder jsonBody = new StringBuilder(ROWS * 60).append('[');
+        StringBuilder csvBody = new StringBuilder(ROWS * 30).append("name,age,income\n");
+        clients = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            int age = 18 + random.nextInt(60);
+            double income = Math.round(random.nextDouble() * 2_000_000) / 100.0;
+            if (i > 0) {
+                jsonBody.append(',');
+            }
+            jsonBody.append("{\"name\":\"Cliente ").append(i).append("\",\"age\":").append(age)
+                    .append(",\"income\":").append(income).append('}');
+            csvBody.append("Cliente ").append(i).append(',').append(age).append(',').append(income).append('\n');
+            clients.add(new NeurotechClientDto(null, "Cliente " + i, age, income));
+        }
+        json = jsonBody.append(']').toString().getBytes(StandardCharsets.UTF_8);
+        csv = csvBody.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clear() {
+        repository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public Object importRows() {
+        return switch (mode) {
+            case "json" -> importService.importJson(new ByteArrayInputStream(json));
+            case "csv" -> importService.importCsv(new ByteArrayInputStream(csv));
+            default -> {
+                Object last = null;
+                for (NeurotechClientDto client : clients) {
+                    last = clientService.create(client);
+                }
+                yield last;
+            }
+        };
+    }
+}
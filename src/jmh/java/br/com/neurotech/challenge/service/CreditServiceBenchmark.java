@@ -0,0 +1,77 @@
+package br.com.neurotech.challenge.service;
+
+import br.com.neurotech.challenge.cache.ClientCache;
+import br.com.neurotech.challenge.cache.CreditDecisionCache;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import br.com.neurotech.challenge.repositories.ClientRepository;
+import br.com.neurotech.challenge.repositories.JpaClientStore;
+import br.com.neurotech.challenge.repositories.MappedCreditRepository;
+import br.com.neurotech.challenge.rules.CreditRuleEngine;
+import br.com.neurotech.challenge.snapshot.ClientColumnStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// checkCredit com o cliente já no ClientCache: mede a decisão em si, com e sem o cache de decisões
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreditServiceBenchmark {
+
+    private static final int CLIENTS = 4096;
+    private static final VehicleModel[] MODELS = VehicleModel.values();
+
+    @Param({"true", "false"})
+    public boolean decisionCache;
+
+    private CreditService creditService;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        ClientRepository repository = Mockito.mock(ClientRepository.class);
+        Random random = new Random(42L);
+        for (long id = 1; id <= CLIENTS; id++) {
+            NeurotechClient client = NeurotechClient.builder()
+                    .id(id)
+                    .name("Cliente " + id)
+                    .age(16 + random.nextInt(60))
+                    .income(random.nextDouble() * 20000.0)
+                    .version(0L)
+                    .build();
+            Mockito.when(repository.findById(id)).thenReturn(Optional.of(client));
+        }
+
+        CreditRuleEngine ruleEngine = new CreditRuleEngine(new DefaultResourceLoader(), new ObjectMapper(), "classpath:credit-rules.json");
+        JpaClientStore clientStore = new JpaClientStore(repository, null, null);
+        ClientCache clientCache = new ClientCache(clientStore, CLIENTS * 2L, Duration.ofHours(1));
+        CreditDecisionCache decisions = new CreditDecisionCache(decisionCache ? CLIENTS * 2L : 0L, Duration.ofHours(1));
+        creditService = new CreditService(clientStore, ruleEngine, clientCache, decisions,
+                Mockito.mock(ClientColumnStore.class), new MappedCreditRepository("unused", 1, 0, "", 20, false), new SimpleMeterRegistry(),
+                Duration.ofSeconds(5));
+
+        // Aquece os caches para que o repositório simulado fique fora da medição
+        for (long id = 1; id <= CLIENTS; id++) {
+            for (VehicleModel model : MODELS) {
+                creditService.checkCredit(id, model);
+            }
+        }
+    }
+
+    @Benchmark
+    public Object checkCredit() {
+        int i = next++ & (CLIENTS - 1);
+        return creditService.checkCredit(i + 1L, MODELS[i & 1]);
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.neurotech.challenge.service;
+
+import br.com.neurotech.challenge.dtos.EligibilityScanDto;
+import br.com.neurotech.challenge.rules.CompiledCreditRules;
+import br.com.neurotech.challenge.rules.CreditRuleEngine;
+import br.com.neurotech.challenge.snapshot.ClientColumnStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Varredura de todos os modelos em uma passada, com 1, 4 e 16 threads no ForkJoinPool
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class EligibilityScanBenchmark {
+
+    @Param({"4000000"})
+    public int clients;
+
+    @Param({"1", "4", "16"})
+    public int threads;
+
+    @Param({"false", "true"})
+    public boolean includeClients;
+
+    private ClientColumnStore store;
+    private CompiledCreditRules rules;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        rules = new CreditRuleEngine(new DefaultResourceLoader(), new ObjectMapper(), "classpath:credit-rules.json").current();
+        store = new ClientColumnStore(null, true);
+        Random random = new Random(42L);
+        for (long id = 1; id <= clients; id++) {
+            store.onReplaced(id, 0L, "Cliente " + (id % 1000), 16 + random.nextInt(60), random.nextDouble() * 20000.0);
+        }
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public EligibilityScanDto scanAllModels() {
+        return EligibilityScanService.scan(pool, rules, store, includeClients);
+    }
+}
@@ -0,0 +1,77 @@
+package br.com.neurotech.challenge.service;
+
+import br.com.neurotech.challenge.ChallengeJavaDeveloperApplication;
+import br.com.neurotech.challenge.snapshot.ClientColumnStore;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// findEligibleClientsForHatch com 1k, 100k e 1M clientes, no H2 em memória e no snapshot colunar
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class EligibleHatchBenchmark {
+
+    private static final int INSERT_CHUNK = 10_000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int clients;
+
+    // true: varredura no snapshot colunar; false: consulta pelo índice (age, income) no banco
+    @Param({"true", "false"})
+    public boolean columnStore;
+
+    private ConfigurableApplicationContext context;
+    private CreditService creditService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ChallengeJavaDeveloperApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:hatch-bench-" + clients + "-" + columnStore + ";DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "spring.threads.virtual.enabled=false",
+                        "app.credit-rules.reload-interval=PT1H",
+                        "app.column-store.enabled=" + columnStore,
+                        "logging.level.root=WARN")
+                .run();
+        creditService = context.getBean(CreditService.class);
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        Random random = new Random(42L);
+        List<Object[]> rows = new ArrayList<>(INSERT_CHUNK);
+        for (long id = 1; id <= clients; id++) {
+            rows.add(new Object[]{id, "Cliente " + id, 16 + random.nextInt(60), random.nextDouble() * 20000.0});
+            if (rows.size() == INSERT_CHUNK || id == clients) {
+                jdbc.batchUpdate("INSERT INTO neurotech_client (id, name, age, income, version) VALUES (?, ?, ?, ?, 0)", rows);
+                rows.clear();
+            }
+        }
+        if (columnStore) {
+            context.getBean(ClientColumnStore.class).load();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> findEligibleClientsForHatch() {
+        return creditService.findEligibleClientsForHatch();
+    }
+}
@@ -0,0 +1,119 @@
+package br.com.neurotech.challenge.service;
+
+import br.com.neurotech.challenge.ChallengeJavaDeveloperApplication;
+import br.com.neurotech.challenge.dtos.CreditCheckResponseDto;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import br.com.neurotech.challenge.repositories.ClientRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+// Verificações de crédito de um único (cliente, modelo) com 1, 16, 64 e 256 chamadores simultâneos, com e sem
+// a junção de verificações (app.credit-check.coalescing-timeout), no contexto Spring completo sem HTTP. O
+// ClientCache fica desligado para que toda avaliação não juntada chegue ao ClientStore; ao fim de cada iteração
+// é impresso quantas vezes ClientRepository.findById (a leitura do JpaClientStore) rodou e por quantas
+// verificações. Sem a junção são uma leitura por verificação; com ela as leituras por segundo devem ficar
+// praticamente constantes enquanto a concorrência cresce. Os demais benchmarks de carga rodam sem a junção.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class HotKeyCreditCheckBenchmark {
+
+    @Param({"PT0S", "PT5S"})
+    public String coalescingTimeout;
+
+    private ConfigurableApplicationContext context;
+    private CreditService creditService;
+    private MeterRegistry meterRegistry;
+    private long clientId;
+
+    private long readsAtStart;
+    private long checksAtStart;
+    private long iterationStart;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SpringApplication.run(ChallengeJavaDeveloperApplication.class,
+                "--spring.main.web-application-type=none",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--app.client-cache.maximum-size=0",
+                "--app.credit-check.coalescing-timeout=" + coalescingTimeout,
+                "--app.column-store.enabled=false",
+                "--app.credit-log.enabled=false");
+        creditService = context.getBean(CreditService.class);
+        meterRegistry = context.getBean(MeterRegistry.class);
+        clientId = context.getBean(ClientRepository.class)
+                .save(NeurotechClient.builder().name("Hot Key").age(24).income(6000.0).build())
+                .getId();
+    }
+
+    @Setup(Level.Iteration)
+    public void markIteration() {
+        readsAtStart = storeReads();
+        checksAtStart = checks();
+        iterationStart = System.nanoTime();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportStoreReads() {
+        long reads = storeReads() - readsAtStart;
+        long checks = checks() - checksAtStart;
+        double seconds = (System.nanoTime() - iterationStart) / 1e9;
+        System.out.printf("%n[coalescing-timeout=%s] findById: %d leituras (%.0f/s) para %d verificações (%.4f por verificação)%n",
+                coalescingTimeout, reads, reads / seconds, checks, checks == 0 ? 0.0 : (double) reads / checks);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public CreditCheckResponseDto check001() {
+        return creditService.checkCredit(clientId, VehicleModel.HATCH);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public CreditCheckResponseDto check016() {
+        return creditService.checkCredit(clientId, VehicleModel.HATCH);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public CreditCheckResponseDto check064() {
+        return creditService.checkCredit(clientId, VehicleModel.HATCH);
+    }
+
+    @Benchmark
+    @Threads(256)
+    public CreditCheckResponseDto check256() {
+        return creditService.checkCredit(clientId, VehicleModel.HATCH);
+    }
+
+    // Chamadas de ClientRepository.findById medidas pelas métricas de repositório do Spring Data (actuator)
+    private long storeReads() {
+        return meterRegistry.find("spring.data.repository.invocations")
+                .tag("repository", "ClientRepository")
+                .tag("method", "findById")
+                .timers().stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+
+    private long checks() {
+        return meterRegistry.find("credit.check").timers().stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+}
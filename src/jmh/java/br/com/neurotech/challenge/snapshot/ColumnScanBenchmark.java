@@ -0,0 +1,57 @@
+package br.com.neurotech.challenge.snapshot;
+
+import br.com.neurotech.challenge.dtos.EligibleClientDto;
+import br.com.neurotech.challenge.entity.CreditDecision;
+import br.com.neurotech.challenge.entity.CreditModality;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import br.com.neurotech.challenge.rules.CompiledCreditRules;
+import br.com.neurotech.challenge.rules.CreditRuleEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Varredura de elegibilidade para o Hatch sobre 10M clientes no snapshot colunar
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class ColumnScanBenchmark {
+
+    @Param({"10000000"})
+    public int clients;
+
+    private ClientColumnStore store;
+    private CompiledCreditRules rules;
+
+    @Setup
+    public void setUp() {
+        rules = new CreditRuleEngine(new DefaultResourceLoader(), new ObjectMapper(), "classpath:credit-rules.json").current();
+        store = new ClientColumnStore(null, true);
+        Random random = new Random(42L);
+        for (long id = 1; id <= clients; id++) {
+            // Poucos nomes distintos, para o dicionário não dominar a memória do benchmark
+            store.onReplaced(id, 0L, "Cliente " + (id % 1000), 16 + random.nextInt(60), random.nextDouble() * 20000.0);
+        }
+    }
+
+    @Benchmark
+    public int countInWindow() {
+        return store.count(23, 25, 5000.0, 15000.0);
+    }
+
+    @Benchmark
+    public List<EligibleClientDto> eligibleForHatch() {
+        return store.scan(23, 25, 5000.0, 15000.0,
+                (age, income) -> {
+                    CreditDecision decision = rules.decide(age, income, VehicleModel.HATCH);
+                    return decision.isApproved() && decision.modality() == CreditModality.FIXED_INTEREST;
+                },
+                (id, name, age, income) -> new EligibleClientDto(name, income));
+    }
+}
@@ -2,8 +2,15 @@ package br.com.neurotech.challenge;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// Sem a configuração automática do R2DBC: um ConnectionFactory no contexto desliga a do DataSource (e o JPA).
+// O acesso reativo usa um pool próprio, criado em ReactiveClientRepository.
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@EnableScheduling
+@EnableAsync
 public class ChallengeJavaDeveloperApplication {
 
 	public static void main(String[] args) {
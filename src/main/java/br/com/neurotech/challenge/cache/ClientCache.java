@@ -0,0 +1,81 @@
+package br.com.neurotech.challenge.cache;
+
+import br.com.neurotech.challenge.entity.ClientSnapshot;
+import br.com.neurotech.challenge.repositories.ClientStore;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+// Cache read-through de clientes por ID (W-TinyLFU do Caffeine, limitado por tamanho e TTL)
+@Component
+public class ClientCache {
+
+	private final ClientStore clientStore;
+	private final Cache<Long, ClientSnapshot> cache;
+	// maximum-size 0 desliga o cache: toda leitura vai ao ClientStore, sem a junção de cargas simultâneas
+	// da mesma chave que o Caffeine faz mesmo sem guardar nada
+	private final boolean enabled;
+	private final Function<Long, ClientSnapshot> loader = this::loadFromStore;
+
+	public ClientCache(ClientStore clientStore,
+					   @Value("${app.client-cache.maximum-size:10000}") long maximumSize,
+					   @Value("${app.client-cache.expire-after-write:PT10M}") Duration expireAfterWrite) {
+		this.clientStore = clientStore;
+		this.enabled = maximumSize > 0;
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(expireAfterWrite)
+				.recordStats()
+				.build();
+		// Depois de uma recarga do backend nenhuma entrada pode sobreviver até o TTL com os dados anteriores
+		clientStore.addReloadListener(cache::invalidateAll);
+	}
+
+	public Optional<ClientSnapshot> get(Long id) {
+		return Optional.ofNullable(getOrNull(id));
+	}
+
+	// Variante sem Optional para o caminho quente da análise de crédito
+	public ClientSnapshot getOrNull(Long id) {
+		return enabled ? cache.get(id, loader) : clientStore.findById(id);
+	}
+
+	// IDs inexistentes não ficam em cache: o loader retorna null e a próxima leitura vai ao banco
+	private ClientSnapshot loadFromStore(Long id) {
+		return clientStore.findById(id);
+	}
+
+	// Invalida agora e de novo ao fim da transação, para que uma leitura concorrente
+	// feita antes do commit não deixe a versão antiga no cache
+	public void invalidate(Long id) {
+		cache.invalidate(id);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					cache.invalidate(id);
+				}
+			});
+		}
+	}
+
+	public CacheStats stats() {
+		return cache.stats();
+	}
+
+	public long estimatedSize() {
+		return cache.estimatedSize();
+	}
+
+	public Cache<Long, ClientSnapshot> nativeCache() {
+		return cache;
+	}
+}
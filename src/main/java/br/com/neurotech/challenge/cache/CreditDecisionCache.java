@@ -0,0 +1,73 @@
+package br.com.neurotech.challenge.cache;
+
+import br.com.neurotech.challenge.entity.CreditDecision;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Decisões de crédito memorizadas por (cliente, versão do cliente, modelo).
+// Cada entrada também guarda a geração das regras, então uma recarga das regras descarta tudo.
+// Só a CreditDecision (imutável) é guardada; o DTO de resposta é montado a cada requisição, já que ele
+// é mutável (setters, links) e não pode ser compartilhado entre chamadores.
+@Component
+public class CreditDecisionCache {
+
+	private static final int MODELS = VehicleModel.values().length;
+
+	private final Cache<Long, Entry> cache;
+
+	public CreditDecisionCache(@Value("${app.decision-cache.maximum-size:10000}") long maximumSize,
+							   @Value("${app.decision-cache.expire-after-write:PT10M}") Duration expireAfterWrite) {
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maximumSize)
+				.expireAfterWrite(expireAfterWrite)
+				.recordStats()
+				.build();
+	}
+
+	public CreditDecision get(Long clientId, long version, long rulesGeneration, VehicleModel model) {
+		Entry entry = cache.getIfPresent(clientId);
+		if (entry == null || !entry.matches(version, rulesGeneration)) {
+			return null;
+		}
+		return entry.decisions.get(model.ordinal());
+	}
+
+	public void put(Long clientId, long version, long rulesGeneration, VehicleModel model, CreditDecision decision) {
+		Entry entry = cache.getIfPresent(clientId);
+		if (entry == null || !entry.matches(version, rulesGeneration)) {
+			entry = new Entry(version, rulesGeneration);
+			cache.put(clientId, entry);
+		}
+		entry.decisions.set(model.ordinal(), decision);
+	}
+
+	public CacheStats stats() {
+		return cache.stats();
+	}
+
+	public Cache<Long, ?> nativeCache() {
+		return cache;
+	}
+
+	private static final class Entry {
+		private final long version;
+		private final long rulesGeneration;
+		private final AtomicReferenceArray<CreditDecision> decisions = new AtomicReferenceArray<>(MODELS);
+
+		private Entry(long version, long rulesGeneration) {
+			this.version = version;
+			this.rulesGeneration = rulesGeneration;
+		}
+
+		private boolean matches(long version, long rulesGeneration) {
+			return this.version == version && this.rulesGeneration == rulesGeneration;
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package br.com.neurotech.challenge.cache;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Junta chamadas concorrentes com a mesma chave: a primeira executa o trabalho e as demais esperam pelo
+// mesmo resultado (inclusive exceções). A entrada sai do mapa assim que o trabalho termina, então nada é
+// memorizado: só quem chegou durante a execução compartilha o resultado.
+// Quem espera mais que o timeout desiste da chamada em andamento, retira-a do mapa para que as próximas
+// comecem outra e executa o trabalho por conta própria.
+public class SingleFlight<K, V> {
+
+	private final ConcurrentHashMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+	private final long timeoutNanos;
+	private final LongAdder coalesced = new LongAdder();
+	private final LongAdder timeouts = new LongAdder();
+
+	// Timeout zero desliga a junção: cada chamada executa o próprio trabalho
+	public SingleFlight(Duration timeout) {
+		this.timeoutNanos = timeout.toNanos();
+	}
+
+	public V execute(K key, Supplier<V> work) {
+		if (timeoutNanos <= 0) {
+			return work.get();
+		}
+
+		CompletableFuture<V> call = new CompletableFuture<>();
+		CompletableFuture<V> inFlight = calls.putIfAbsent(key, call);
+		if (inFlight == null) {
+			return run(key, call, work);
+		}
+
+		coalesced.increment();
+		try {
+			return inFlight.get(timeoutNanos, TimeUnit.NANOSECONDS);
+		} catch (TimeoutException ex) {
+			timeouts.increment();
+			calls.remove(key, inFlight);
+			return work.get();
+		} catch (ExecutionException ex) {
+			throw propagate(ex.getCause());
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrompido enquanto aguardava uma chamada em andamento.", ex);
+		}
+	}
+
+	private V run(K key, CompletableFuture<V> call, Supplier<V> work) {
+		try {
+			V value = work.get();
+			call.complete(value);
+			return value;
+		} catch (RuntimeException | Error ex) {
+			call.completeExceptionally(ex);
+			throw ex;
+		} finally {
+			// Só remove se ninguém já a substituiu depois de um timeout
+			calls.remove(key, call);
+		}
+	}
+
+	private static RuntimeException propagate(Throwable cause) {
+		if (cause instanceof RuntimeException runtime) {
+			return runtime;
+		}
+		if (cause instanceof Error error) {
+			throw error;
+		}
+		return new IllegalStateException(cause);
+	}
+
+	public int inFlight() {
+		return calls.size();
+	}
+
+	// Chamadas que aproveitaram uma execução em andamento
+	public long coalescedCount() {
+		return coalesced.sum();
+	}
+
+	public long timeoutCount() {
+		return timeouts.sum();
+	}
+}
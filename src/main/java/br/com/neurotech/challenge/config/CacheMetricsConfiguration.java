@@ -0,0 +1,23 @@
+package br.com.neurotech.challenge.config;
+
+import br.com.neurotech.challenge.cache.ClientCache;
+import br.com.neurotech.challenge.cache.CreditDecisionCache;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Expõe acertos, falhas e despejos dos caches Caffeine (cache.gets, cache.evictions, ...)
+@Configuration
+public class CacheMetricsConfiguration {
+
+	@Bean
+	public MeterBinder clientCacheMetrics(ClientCache clientCache) {
+		return registry -> CaffeineCacheMetrics.monitor(registry, clientCache.nativeCache(), "clients");
+	}
+
+	@Bean
+	public MeterBinder creditDecisionCacheMetrics(CreditDecisionCache decisionCache) {
+		return registry -> CaffeineCacheMetrics.monitor(registry, decisionCache.nativeCache(), "credit-decisions");
+	}
+}
@@ -0,0 +1,92 @@
+package br.com.neurotech.challenge.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Limita quantas conexões podem estar emprestadas ao mesmo tempo. Com threads virtuais o número de
+// requisições simultâneas deixa de ser limitado pelo pool do Tomcat; o semáforo faz o excedente esperar
+// estacionado (sem prender a thread carregadora) e falhar com timeout em vez de sobrecarregar o banco.
+public class ConcurrencyLimitingDataSource extends DelegatingDataSource {
+
+	private final Semaphore permits;
+	private final int maxConcurrency;
+	private final long acquireTimeoutMillis;
+
+	public ConcurrencyLimitingDataSource(DataSource target, int maxConcurrency, long acquireTimeoutMillis) {
+		super(target);
+		this.permits = new Semaphore(maxConcurrency, true);
+		this.maxConcurrency = maxConcurrency;
+		this.acquireTimeoutMillis = acquireTimeoutMillis;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		acquire();
+		try {
+			return releasingOnClose(super.getConnection());
+		} catch (SQLException | RuntimeException ex) {
+			permits.release();
+			throw ex;
+		}
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		acquire();
+		try {
+			return releasingOnClose(super.getConnection(username, password));
+		} catch (SQLException | RuntimeException ex) {
+			permits.release();
+			throw ex;
+		}
+	}
+
+	public int getMaxConcurrency() {
+		return maxConcurrency;
+	}
+
+	public int getAvailablePermits() {
+		return permits.availablePermits();
+	}
+
+	public int getQueueLength() {
+		return permits.getQueueLength();
+	}
+
+	private void acquire() throws SQLException {
+		try {
+			if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+				throw new SQLTransientConnectionException(
+						"Limite de " + maxConcurrency + " conexões simultâneas atingido após " + acquireTimeoutMillis + " ms de espera.");
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new SQLTransientConnectionException("Interrompido aguardando conexão com o banco.", ex);
+		}
+	}
+
+	private Connection releasingOnClose(Connection connection) {
+		AtomicBoolean released = new AtomicBoolean();
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+				(proxy, method, args) -> {
+					try {
+						return method.invoke(connection, args);
+					} catch (InvocationTargetException ex) {
+						throw ex.getTargetException();
+					} finally {
+						if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+							permits.release();
+						}
+					}
+				});
+	}
+}
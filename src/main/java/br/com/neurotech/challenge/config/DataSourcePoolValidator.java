@@ -0,0 +1,66 @@
+package br.com.neurotech.challenge.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// No perfil perf, confere na inicialização se o pool está de acordo com a concorrência configurada
+// e se realmente entrega uma conexão. Configurações incoerentes impedem a aplicação de subir.
+@Component
+@Profile("perf")
+public class DataSourcePoolValidator implements InitializingBean {
+
+	private static final Logger logger = LoggerFactory.getLogger(DataSourcePoolValidator.class);
+
+	private final DataSource dataSource;
+	private final boolean virtualThreads;
+	private final int httpMaxThreads;
+
+	public DataSourcePoolValidator(DataSource dataSource,
+								   @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+								   @Value("${server.tomcat.threads.max:200}") int httpMaxThreads) {
+		this.dataSource = dataSource;
+		this.virtualThreads = virtualThreads;
+		this.httpMaxThreads = httpMaxThreads;
+	}
+
+	@Override
+	public void afterPropertiesSet() throws SQLException {
+		HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+		int poolSize = hikari.getMaximumPoolSize();
+
+		if (hikari.getMinimumIdle() > poolSize) {
+			throw new IllegalStateException("minimum-idle (" + hikari.getMinimumIdle()
+					+ ") maior que maximum-pool-size (" + poolSize + ").");
+		}
+
+		if (virtualThreads) {
+			// Com threads virtuais a concorrência é limitada pelo semáforo, que não pode passar do pool
+			if (dataSource instanceof ConcurrencyLimitingDataSource limiter && limiter.getMaxConcurrency() > poolSize) {
+				throw new IllegalStateException("Limite de concorrência do banco (" + limiter.getMaxConcurrency()
+						+ ") maior que o pool de conexões (" + poolSize + ").");
+			}
+		} else if (poolSize > httpMaxThreads) {
+			logger.warn("Pool de conexões ({}) maior que o número de threads HTTP ({}): conexões vão ficar ociosas.",
+					poolSize, httpMaxThreads);
+		}
+
+		long start = System.nanoTime();
+		try (Connection connection = dataSource.getConnection()) {
+			if (!connection.isValid(2)) {
+				throw new IllegalStateException("O pool '" + hikari.getPoolName() + "' entregou uma conexão inválida.");
+			}
+		}
+		logger.info("Pool '{}' validado: {} conexões (mínimo ocioso {}), threads {}, primeira conexão em {} ms.",
+				hikari.getPoolName(), poolSize, hikari.getMinimumIdle(),
+				virtualThreads ? "virtuais" : httpMaxThreads + " HTTP", (System.nanoTime() - start) / 1_000_000);
+	}
+}
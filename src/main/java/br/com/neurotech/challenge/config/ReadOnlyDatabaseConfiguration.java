@@ -0,0 +1,57 @@
+package br.com.neurotech.challenge.config;
+
+import br.com.neurotech.challenge.repositories.ClientRepository;
+import br.com.neurotech.challenge.repositories.PortfolioStatsRepository;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.lang.reflect.Proxy;
+
+// Nos nós com app.client-store.backend=mapped os clientes vêm do arquivo exportado e o banco local não os tem.
+// Os repositórios que acessam a tabela de clientes são trocados por versões que recusam toda chamada com 503:
+// cadastros, importação e agregação no banco falham no ponto em que tocariam o banco, sem que os serviços
+// precisem saber qual backend está em uso. As leituras de clientes desses nós passam pelo MappedClientStore.
+@Configuration
+@ConditionalOnProperty(name = "app.client-store.backend", havingValue = "mapped")
+public class ReadOnlyDatabaseConfiguration {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReadOnlyDatabaseConfiguration.class);
+
+	@Bean
+	public static BeanPostProcessor readOnlyDatabasePostProcessor() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (!(bean instanceof ClientRepository) && !(bean instanceof PortfolioStatsRepository)) {
+					return bean;
+				}
+				logger.info("Repositório '{}' somente leitura: o banco local deste nó não tem os clientes.", beanName);
+				return readOnly(bean);
+			}
+		};
+	}
+
+	// Repositórios do Spring Data já são proxies JDK e continuam sendo pelas mesmas interfaces; os demais
+	// (classes, às vezes já com proxy de tradução de exceções) viram subclasse, para serem injetados pelo tipo
+	static Object readOnly(Object repository) {
+		ProxyFactory factory = new ProxyFactory(repository);
+		factory.setProxyTargetClass(!Proxy.isProxyClass(repository.getClass()));
+		factory.addAdvice((MethodInterceptor) invocation -> {
+			if (ReflectionUtils.isObjectMethod(invocation.getMethod())) {
+				return invocation.proceed();
+			}
+			throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+					"Operação indisponível neste nó: os clientes vêm do arquivo exportado (app.client-store.backend=mapped).");
+		});
+		return factory.getProxy();
+	}
+}
@@ -0,0 +1,53 @@
+package br.com.neurotech.challenge.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Modo de threads virtuais (spring.threads.virtual.enabled=true): o Spring Boot já executa as
+// requisições do Tomcat e as tarefas @Async em threads virtuais; aqui ficam o limitador de
+// concorrência do banco e o diagnóstico de pinning.
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfiguration {
+
+	private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfiguration.class);
+
+	@Bean
+	@ConditionalOnProperty(name = "app.datasource.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+	public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(Environment environment) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitingDataSource) {
+					return bean;
+				}
+				// Sem valor explícito, o limite acompanha o tamanho máximo do pool
+				int permits = environment.getProperty("app.datasource.concurrency-limit.permits", Integer.class, 0);
+				if (permits <= 0) {
+					permits = dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+				}
+				Duration timeout = environment.getProperty("app.datasource.concurrency-limit.acquire-timeout",
+						Duration.class, Duration.ofSeconds(30));
+				logger.info("Limitando o datasource '{}' a {} conexões simultâneas (espera máxima de {}).", beanName, permits, timeout);
+				return new ConcurrencyLimitingDataSource(dataSource, permits, timeout.toMillis());
+			}
+		};
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "app.virtual-threads.pinning-monitor.enabled", havingValue = "true", matchIfMissing = true)
+	public VirtualThreadPinningMonitor virtualThreadPinningMonitor(Environment environment) {
+		Duration threshold = environment.getProperty("app.virtual-threads.pinning-monitor.threshold",
+				Duration.class, Duration.ofMillis(20));
+		return new VirtualThreadPinningMonitor(threshold);
+	}
+}
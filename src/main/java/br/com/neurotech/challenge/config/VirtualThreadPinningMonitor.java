@@ -0,0 +1,68 @@
+package br.com.neurotech.challenge.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Registra, via JFR, quando uma thread virtual fica presa à thread carregadora (ex.: bloqueio dentro de
+// synchronized no driver JDBC). Cada ocorrência acima do limite é logada com o topo da pilha.
+public class VirtualThreadPinningMonitor {
+
+	private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+	private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+	private static final int LOGGED_FRAMES = 8;
+
+	private final Duration threshold;
+	private final AtomicLong pinnedCount = new AtomicLong();
+	private RecordingStream stream;
+
+	public VirtualThreadPinningMonitor(Duration threshold) {
+		this.threshold = threshold;
+	}
+
+	@PostConstruct
+	public void start() {
+		stream = new RecordingStream();
+		stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+		stream.onEvent(PINNED_EVENT, this::report);
+		stream.startAsync();
+		logger.info("Monitor de pinning de threads virtuais ativo (limite de {}).", threshold);
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (stream != null) {
+			stream.close();
+		}
+	}
+
+	public long getPinnedCount() {
+		return pinnedCount.get();
+	}
+
+	private void report(RecordedEvent event) {
+		pinnedCount.incrementAndGet();
+		StringBuilder frames = new StringBuilder();
+		RecordedStackTrace stackTrace = event.getStackTrace();
+		if (stackTrace != null) {
+			List<RecordedFrame> recorded = stackTrace.getFrames();
+			for (int i = 0; i < Math.min(LOGGED_FRAMES, recorded.size()); i++) {
+				RecordedFrame frame = recorded.get(i);
+				frames.append("\n\tat ")
+						.append(frame.getMethod().getType().getName()).append('.')
+						.append(frame.getMethod().getName())
+						.append(':').append(frame.getLineNumber());
+			}
+		}
+		logger.warn("Thread virtual presa à carregadora por {} ms{}", event.getDuration().toMillis(), frames);
+	}
+}
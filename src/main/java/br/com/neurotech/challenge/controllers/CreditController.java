@@ -1,9 +1,16 @@
 package br.com.neurotech.challenge.controllers;
 
+import br.com.neurotech.challenge.dtos.ApiMediaTypes;
+import br.com.neurotech.challenge.dtos.CreditBatchResultDto;
+import br.com.neurotech.challenge.dtos.CreditCheckRequestDto;
 import br.com.neurotech.challenge.dtos.CreditCheckResponseDto;
+import br.com.neurotech.challenge.dtos.EligibilityScanDto;
+import br.com.neurotech.challenge.dtos.EligibleClientDto;
+import br.com.neurotech.challenge.dtos.LeanCreditCheckDto;
+import br.com.neurotech.challenge.entity.CreditCheckRecord;
 import br.com.neurotech.challenge.entity.VehicleModel;
-import br.com.neurotech.challenge.exceptions.ClientNotEligibleForCreditException;
 import br.com.neurotech.challenge.service.CreditService;
+import br.com.neurotech.challenge.service.EligibilityScanService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,24 +18,34 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @RestController
 @RequestMapping("/api/credit")
 @Tag(name = "Credit", description = "Endpoints for checking credit eligibility for clients")
 public class CreditController {
 
+    private static final int MAX_BATCH_SIZE = 50_000;
+    private static final int MAX_HISTORY_SIZE = 1000;
+
     private final CreditService creditService;
+    private final JsonStreaming jsonStreaming;
+    private final LinkTemplates links;
+    private final EligibilityScanService eligibilityScanService;
 
-    public CreditController(CreditService creditService) {
+    public CreditController(CreditService creditService, JsonStreaming jsonStreaming, LinkTemplates links,
+                            EligibilityScanService eligibilityScanService) {
         this.creditService = creditService;
+        this.jsonStreaming = jsonStreaming;
+        this.links = links;
+        this.eligibilityScanService = eligibilityScanService;
     }
 
     @GetMapping("/client/{clientId}/automotive")
@@ -44,36 +61,82 @@ public class CreditController {
         try {
             CreditCheckResponseDto response = creditService.checkCredit(clientId, model);
 
-
-            String link = linkTo(methodOn(CreditController.class)
-                    .checkCredit(clientId, model))
-                    .withSelfRel().toUri().toString();
-
-            return ResponseEntity.ok()
-                    .header("Location", link) // Adicionando o link no cabeçalho
-                    .body(response);
-        } catch (ClientNotEligibleForCreditException ex) {
-            CreditCheckResponseDto response = new CreditCheckResponseDto(
-                    clientId,
-                    null,
-                    model.name(),
-                    false,
-                    ex.getMessage()
-            );
-
-
-            String link = linkTo(methodOn(CreditController.class)
-                    .checkCredit(clientId, model))
-                    .withSelfRel().toUri().toString();
-
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .header("Location", link) // Adicionando o link no cabeçalho
+            // Recusa é um resultado normal da análise, não uma exceção
+            HttpStatus status = response.isEligible() ? HttpStatus.OK : HttpStatus.BAD_REQUEST;
+            return ResponseEntity.status(status)
+                    .headers(links.creditCheckLocation(clientId, model))
                     .body(response);
         } catch (RuntimeException ex) {
             throw new RuntimeException("Erro inesperado ao verificar crédito: " + ex.getMessage(), ex);
         }
     }
 
+    @GetMapping(value = "/client/{clientId}/automotive", produces = ApiMediaTypes.LEAN_JSON_VALUE)
+    @Operation(summary = "Check automotive credit eligibility (lean)",
+            description = "Same check as the default representation, returned as a plain record without hypermedia links",
+            tags = {"Credit"},
+            responses = {
+                    @ApiResponse(description = "Eligible for credit", responseCode = "200",
+                            content = @Content(mediaType = ApiMediaTypes.LEAN_JSON_VALUE, schema = @Schema(implementation = LeanCreditCheckDto.class))),
+                    @ApiResponse(description = "Client not eligible for credit", responseCode = "400",
+                            content = @Content(mediaType = ApiMediaTypes.LEAN_JSON_VALUE, schema = @Schema(implementation = LeanCreditCheckDto.class))),
+                    @ApiResponse(description = "Internal server error", responseCode = "500", content = @Content)
+            })
+    public ResponseEntity<LeanCreditCheckDto> checkCreditLean(@PathVariable Long clientId, @RequestParam VehicleModel model) {
+        try {
+            CreditCheckResponseDto response = creditService.checkCredit(clientId, model);
+            return ResponseEntity.status(response.isEligible() ? HttpStatus.OK : HttpStatus.BAD_REQUEST)
+                    .contentType(ApiMediaTypes.LEAN_JSON)
+                    .body(LeanCreditCheckDto.of(response));
+        } catch (RuntimeException ex) {
+            throw new RuntimeException("Erro inesperado ao verificar crédito: " + ex.getMessage(), ex);
+        }
+    }
+
+    @GetMapping("/client/{clientId}/checks")
+    @Operation(summary = "List the latest credit checks of a client",
+            description = "Read the client's most recent credit checks from the audit log, newest first",
+            tags = {"Credit"},
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = CreditCheckRecord.class)))),
+                    @ApiResponse(description = "Limit out of range", responseCode = "400", content = @Content),
+                    @ApiResponse(description = "Internal server error", responseCode = "500", content = @Content)
+            })
+    public ResponseEntity<List<CreditCheckRecord>> getLatestChecks(@PathVariable Long clientId,
+                                                                   @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_HISTORY_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "O limite deve estar entre 1 e " + MAX_HISTORY_SIZE + ".");
+        }
+        return ResponseEntity.ok(creditService.findLatestChecks(clientId, limit));
+    }
+
+    @PostMapping("/automotive/batch")
+    @Operation(summary = "Check automotive credit eligibility in batch",
+            description = "Evaluate a list of (clientId, model) pairs and stream one result per line, in request order. " +
+                    "Clients not found or not eligible are reported inline.",
+            tags = {"Credit"},
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200",
+                            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    schema = @Schema(implementation = CreditBatchResultDto.class))),
+                    @ApiResponse(description = "Batch too large", responseCode = "400", content = @Content),
+                    @ApiResponse(description = "Internal server error", responseCode = "500", content = @Content)
+            })
+    public ResponseEntity<StreamingResponseBody> checkCreditBatch(@RequestBody List<CreditCheckRequestDto> requests) {
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "O lote deve conter no máximo " + MAX_BATCH_SIZE + " verificações.");
+        }
+
+        StreamingResponseBody body = jsonStreaming.<CreditBatchResultDto>ndjson(
+                results -> creditService.checkCreditBatch(requests, results));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/eligible-clients/hatch")
     @Operation(summary = "Find eligible clients for hatch",
             description = "Retrieve a list of clients eligible for Hatch vehicle credit with fixed interest rates.",
@@ -86,7 +149,56 @@ public class CreditController {
     public ResponseEntity<List<Map<String, Object>>> getEligibleClientsForHatch() {
         List<Map<String, Object>> eligibleClients = creditService.findEligibleClientsForHatch();
         return ResponseEntity.ok()
-                .header("Location", "/api/credit/eligible-clients/hatch")
+                .headers(links.location("/api/credit/eligible-clients/hatch"))
                 .body(eligibleClients);
     }
+
+    @GetMapping(value = "/eligible-clients/hatch", params = "stream=true")
+    @Operation(summary = "Find eligible clients for hatch (streamed)",
+            description = "Same list of name/income objects, written row by row while the query runs, with constant memory use.",
+            tags = {"Credit"},
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200",
+                            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    array = @ArraySchema(schema = @Schema(implementation = EligibleClientDto.class)))),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = {@Content})
+            })
+    public ResponseEntity<StreamingResponseBody> getEligibleClientsForHatchStreamed() {
+        StreamingResponseBody body = jsonStreaming.<EligibleClientDto>jsonArray(creditService::streamEligibleHatchClients);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(links.location("/api/credit/eligible-clients/hatch"))
+                .body(body);
+    }
+
+    @GetMapping(value = "/eligible-clients/hatch", produces = ApiMediaTypes.LEAN_JSON_VALUE)
+    @Operation(summary = "Find eligible clients for hatch (lean)",
+            description = "Same list as the default representation, as fixed-shape records instead of maps.",
+            tags = {"Credit"},
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200",
+                            content = @Content(mediaType = ApiMediaTypes.LEAN_JSON_VALUE,
+                                    array = @ArraySchema(schema = @Schema(implementation = EligibleClientDto.class)))),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = {@Content})
+            })
+    public ResponseEntity<List<EligibleClientDto>> getEligibleClientsForHatchLean() {
+        return ResponseEntity.ok()
+                .contentType(ApiMediaTypes.LEAN_JSON)
+                .body(creditService.findEligibleHatchClients());
+    }
+
+    @GetMapping("/eligibility")
+    @Operation(summary = "Scan eligibility for every vehicle model",
+            description = "Evaluate all clients against every vehicle model in a single parallel pass over the in-memory snapshot. " +
+                    "Returns totals per modality and rejection reason and, unless clients=false, the approved clients per model.",
+            tags = {"Credit"},
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200",
+                            content = @Content(schema = @Schema(implementation = EligibilityScanDto.class))),
+                    @ApiResponse(description = "Snapshot not available", responseCode = "503", content = {@Content}),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = {@Content})
+            })
+    public ResponseEntity<EligibilityScanDto> scanEligibility(@RequestParam(defaultValue = "true") boolean clients) {
+        return ResponseEntity.ok(eligibilityScanService.scanAllModels(clients));
+    }
 }
@@ -0,0 +1,80 @@
+package br.com.neurotech.challenge.controllers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+@Component
+public class JsonStreaming {
+
+    private final ObjectWriter writer;
+
+    public JsonStreaming(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    // Escreve um objeto JSON por linha à medida que a fonte produz os itens
+    public <T> StreamingResponseBody ndjson(Consumer<Consumer<T>> source) {
+        return outputStream -> {
+            try (JsonGenerator generator = writer.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                int[] written = {0};
+                source.accept(item -> {
+                    write(generator, item);
+                    writeRaw(generator, '\n');
+                    if (written[0]++ == 0) {
+                        flush(generator); // Primeiro registro sai imediatamente
+                    }
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+        };
+    }
+
+    // Escreve um array JSON comum, item a item, sem montar a lista em memória. Um erro no meio do
+    // streaming não tem como virar status HTTP: a resposta é interrompida com o array incompleto.
+    public <T> StreamingResponseBody jsonArray(Consumer<Consumer<T>> source) {
+        return outputStream -> {
+            try (JsonGenerator generator = writer.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                flush(generator); // O cliente começa a receber antes de a consulta terminar
+                source.accept(item -> write(generator, item));
+                generator.writeEndArray();
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+        };
+    }
+
+    private void write(JsonGenerator generator, Object value) {
+        try {
+            writer.writeValue(generator, value);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void writeRaw(JsonGenerator generator, char c) {
+        try {
+            generator.writeRaw(c);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void flush(JsonGenerator generator) {
+        try {
+            generator.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
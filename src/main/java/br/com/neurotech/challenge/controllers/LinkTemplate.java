@@ -0,0 +1,52 @@
+package br.com.neurotech.challenge.controllers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Template de URI pré-compilado: os trechos literais são separados dos {placeholders} uma única vez,
+// e expandir é só concatenar os valores na ordem em que aparecem.
+public final class LinkTemplate {
+
+    private final String template;
+    private final String[] literals;
+    private final int variables;
+
+    private LinkTemplate(String template, String[] literals) {
+        this.template = template;
+        this.literals = literals;
+        this.variables = literals.length - 1;
+    }
+
+    public static LinkTemplate compile(String template) {
+        List<String> literals = new ArrayList<>();
+        int position = 0;
+        int open;
+        while ((open = template.indexOf('{', position)) >= 0) {
+            int close = template.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Template de link inválido: " + template);
+            }
+            literals.add(template.substring(position, open));
+            position = close + 1;
+        }
+        literals.add(template.substring(position));
+        return new LinkTemplate(template, literals.toArray(String[]::new));
+    }
+
+    // Os valores são usados como estão (IDs e nomes de enum), sem codificação de URI
+    public String expand(String baseUrl, Object... values) {
+        if (values.length != variables) {
+            throw new IllegalArgumentException("O template " + template + " espera " + variables + " valores.");
+        }
+        StringBuilder href = new StringBuilder(baseUrl.length() + template.length() + 16).append(baseUrl);
+        for (int i = 0; i < variables; i++) {
+            href.append(literals[i]).append(values[i]);
+        }
+        return href.append(literals[variables]).toString();
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.neurotech.challenge.controllers;
+
+import br.com.neurotech.challenge.entity.VehicleModel;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.reflect.Method;
+
+// Links do cabeçalho Location, resolvidos a partir dos mapeamentos dos controllers na inicialização.
+// Substitui o linkTo(methodOn(...)), que criava um proxy e expandia o template por reflexão a cada requisição.
+// Chamadores internos de alto volume podem dispensar os links com o cabeçalho X-Omit-Links: true.
+@Component
+public class LinkTemplates {
+
+    public static final String OMIT_LINKS_HEADER = "X-Omit-Links";
+
+    private final boolean enabled;
+    private final LinkTemplate client;
+    private final LinkTemplate creditCheck;
+
+    public LinkTemplates(@Value("${app.links.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+        this.client = LinkTemplate.compile(pathOf(NeurotechClientController.class, "getClientById", Long.class));
+        this.creditCheck = LinkTemplate.compile(
+                pathOf(CreditController.class, "checkCredit", Long.class, VehicleModel.class) + "?model={model}");
+    }
+
+    public HttpHeaders clientLocation(Long id) {
+        HttpServletRequest request = currentRequest();
+        return omitLinks(request) ? HttpHeaders.EMPTY : location(client.expand(baseUrl(request), id));
+    }
+
+    public HttpHeaders creditCheckLocation(Long clientId, VehicleModel model) {
+        HttpServletRequest request = currentRequest();
+        return omitLinks(request) ? HttpHeaders.EMPTY : location(creditCheck.expand(baseUrl(request), clientId, model.name()));
+    }
+
+    // Links fixos (ex.: a coleção de clientes), mantidos relativos como antes
+    public HttpHeaders location(String href) {
+        if (omitLinks(currentRequest())) {
+            return HttpHeaders.EMPTY;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.LOCATION, href);
+        return headers;
+    }
+
+    private boolean omitLinks(HttpServletRequest request) {
+        return !enabled || (request != null && "true".equalsIgnoreCase(request.getHeader(OMIT_LINKS_HEADER)));
+    }
+
+    // Fora de uma requisição (ex.: testes de unidade) os links ficam relativos
+    private static String baseUrl(HttpServletRequest request) {
+        if (request == null) {
+            return "";
+        }
+        String scheme = request.getScheme();
+        int port = request.getServerPort();
+        boolean defaultPort = ("http".equals(scheme) && port == 80) || ("https".equals(scheme) && port == 443);
+        StringBuilder baseUrl = new StringBuilder(64).append(scheme).append("://").append(request.getServerName());
+        if (!defaultPort) {
+            baseUrl.append(':').append(port);
+        }
+        return baseUrl.append(request.getContextPath()).toString();
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servlet ? servlet.getRequest() : null;
+    }
+
+    static String pathOf(Class<?> controller, String methodName, Class<?>... parameterTypes) {
+        try {
+            Method method = controller.getMethod(methodName, parameterTypes);
+            return firstPath(AnnotatedElementUtils.findMergedAnnotation(controller, RequestMapping.class))
+                    + firstPath(AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class));
+        } catch (NoSuchMethodException ex) {
+            throw new IllegalStateException("Mapeamento não encontrado: " + controller.getSimpleName() + "." + methodName, ex);
+        }
+    }
+
+    private static String firstPath(RequestMapping mapping) {
+        return mapping == null || mapping.path().length == 0 ? "" : mapping.path()[0];
+    }
+}
@@ -1,6 +1,11 @@
 package br.com.neurotech.challenge.controllers;
 
+import br.com.neurotech.challenge.dtos.ApiMediaTypes;
+import br.com.neurotech.challenge.dtos.ClientImportReportDto;
+import br.com.neurotech.challenge.dtos.ClientPageDto;
+import br.com.neurotech.challenge.dtos.LeanClientDto;
 import br.com.neurotech.challenge.dtos.NeurotechClientDto;
+import br.com.neurotech.challenge.service.ClientImportService;
 import br.com.neurotech.challenge.service.ClientService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -10,21 +15,35 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/neurotech-clients")
 @Tag(name = "Neurotech Clients", description = "Endpoints for managing Neurotech clients")
 public class NeurotechClientController {
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final String CLIENTS_PATH = "/api/neurotech-clients";
+    // Em NDJSON não há envelope para o cursor, então ele vai no cabeçalho (ausente na última página)
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ClientService service;
+    private final ClientImportService importService;
+    private final JsonStreaming jsonStreaming;
+    private final LinkTemplates links;
 
-    public NeurotechClientController(ClientService service) {
+    public NeurotechClientController(ClientService service, ClientImportService importService, JsonStreaming jsonStreaming,
+                                     LinkTemplates links) {
         this.service = service;
+        this.importService = importService;
+        this.jsonStreaming = jsonStreaming;
+        this.links = links;
     }
 
     @GetMapping
@@ -38,10 +57,94 @@ public class NeurotechClientController {
     public ResponseEntity<List<NeurotechClientDto>> getAllClients() {
         List<NeurotechClientDto> clients = service.findAll();
         return ResponseEntity.ok()
-                .header("Location", linkToSelfList()) // Link para a lista de clientes
+                .headers(links.location(CLIENTS_PATH)) // Link para a lista de clientes
                 .body(clients);
     }
 
+    @GetMapping(params = "stream=true")
+    @Operation(summary = "Find all clients (streamed)",
+            description = "Same JSON array as the default listing, written row by row while the query runs, with constant memory use",
+            tags = {"Neurotech Clients"}, responses = {
+            @ApiResponse(description = "Success", responseCode = "200",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = NeurotechClientDto.class)))),
+            @ApiResponse(description = "Internal Error", responseCode = "500", content = {@Content})
+    })
+    public ResponseEntity<StreamingResponseBody> getAllClientsStreamed() {
+        StreamingResponseBody body = jsonStreaming.<NeurotechClientDto>jsonArray(service::streamAll);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(links.location(CLIENTS_PATH))
+                .body(body);
+    }
+
+    @GetMapping(produces = ApiMediaTypes.LEAN_JSON_VALUE)
+    @Operation(summary = "Find all clients (lean)", description = "Retrieve all Neurotech clients as plain records, without hypermedia links",
+            tags = {"Neurotech Clients"}, responses = {
+            @ApiResponse(description = "Success", responseCode = "200",
+                    content = @Content(mediaType = ApiMediaTypes.LEAN_JSON_VALUE,
+                            array = @ArraySchema(schema = @Schema(implementation = LeanClientDto.class)))),
+            @ApiResponse(description = "Internal Error", responseCode = "500", content = {@Content})
+    })
+    public ResponseEntity<List<LeanClientDto>> getAllClientsLean() {
+        return ResponseEntity.ok()
+                .contentType(ApiMediaTypes.LEAN_JSON)
+                .body(service.findAllLean());
+    }
+
+    @GetMapping(params = "limit")
+    @Operation(summary = "Find a page of clients", description = "Retrieve up to 'limit' clients with ID greater than 'after', ordered by ID",
+            tags = {"Neurotech Clients"}, responses = {
+            @ApiResponse(description = "Success", responseCode = "200",
+                    content = @Content(schema = @Schema(implementation = ClientPageDto.class))),
+            @ApiResponse(description = "Internal Error", responseCode = "500", content = {@Content})
+    })
+    public ResponseEntity<ClientPageDto> getClientsPage(@RequestParam int limit,
+                                                        @RequestParam(required = false) Long after) {
+        ClientPageDto page = service.findPage(after, limit);
+        return ResponseEntity.ok()
+                .headers(links.location(CLIENTS_PATH))
+                .body(page);
+    }
+
+    @GetMapping(params = "limit", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Find a page of clients (NDJSON)",
+            description = "Same page as the JSON variant, one client per line; the next cursor is returned in the X-Next-Cursor header",
+            tags = {"Neurotech Clients"}, responses = {
+            @ApiResponse(description = "Success", responseCode = "200",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = NeurotechClientDto.class))),
+            @ApiResponse(description = "Internal Error", responseCode = "500", content = {@Content})
+    })
+    public ResponseEntity<StreamingResponseBody> streamClientsPage(@RequestParam int limit,
+                                                                   @RequestParam(required = false) Long after) {
+        ClientPageDto page = service.findPage(after, limit);
+        StreamingResponseBody body = jsonStreaming.<NeurotechClientDto>ndjson(page.getContent()::forEach);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .headers(links.location(CLIENTS_PATH));
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor().toString());
+        }
+        return response.body(body);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all clients", description = "Stream every Neurotech client as newline-delimited JSON, ordered by ID",
+            tags = {"Neurotech Clients"}, responses = {
+            @ApiResponse(description = "Success", responseCode = "200",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = NeurotechClientDto.class))),
+            @ApiResponse(description = "Internal Error", responseCode = "500", content = {@Content})
+    })
+    public ResponseEntity<StreamingResponseBody> streamAllClients() {
+        StreamingResponseBody body = jsonStreaming.<NeurotechClientDto>ndjson(service::streamAll);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .headers(links.location(CLIENTS_PATH))
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Find a client by ID", description = "Retrieve client details by their ID",
             tags = {"Neurotech Clients"}, responses = {
@@ -52,13 +155,26 @@ public class NeurotechClientController {
     })
     public ResponseEntity<NeurotechClientDto> getClientById(@PathVariable Long id) {
         NeurotechClientDto clientDto = service.findById(id);
-        Map<String, String> hateoasLinks = service.getHateoasLinks(id);
 
         return ResponseEntity.ok()
-                .header("Location", hateoasLinks.get("self"))
+                .headers(links.clientLocation(id))
                 .body(clientDto);
     }
 
+    @GetMapping(value = "/{id}", produces = ApiMediaTypes.LEAN_JSON_VALUE)
+    @Operation(summary = "Find a client by ID (lean)", description = "Retrieve client details as a plain record, without hypermedia links",
+            tags = {"Neurotech Clients"}, responses = {
+            @ApiResponse(description = "Success", responseCode = "200",
+                    content = @Content(mediaType = ApiMediaTypes.LEAN_JSON_VALUE, schema = @Schema(implementation = LeanClientDto.class))),
+            @ApiResponse(description = "Not Found", responseCode = "404", content = {@Content}),
+            @ApiResponse(description = "Internal Error", responseCode = "500", content = {@Content})
+    })
+    public ResponseEntity<LeanClientDto> getClientByIdLean(@PathVariable Long id) {
+        return ResponseEntity.ok()
+                .contentType(ApiMediaTypes.LEAN_JSON)
+                .body(service.findByIdLean(id));
+    }
+
     @PostMapping
     @Operation(summary = "Create a client", description = "Add a new Neurotech client to the system",
             tags = {"Neurotech Clients"}, responses = {
@@ -69,13 +185,44 @@ public class NeurotechClientController {
     })
     public ResponseEntity<NeurotechClientDto> createClient(@Valid @RequestBody NeurotechClientDto client) {
         NeurotechClientDto createdClient = service.create(client);
-        Map<String, String> hateoasLinks = service.getHateoasLinks(createdClient.getKey());
 
         return ResponseEntity.status(HttpStatus.CREATED)
-                .header("Location", hateoasLinks.get("self"))
+                .headers(links.clientLocation(createdClient.getKey()))
                 .body(createdClient);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Import clients from a JSON array",
+            description = "Stream a JSON array of clients (name, age, income), validating each element and inserting in batched chunks",
+            tags = {"Neurotech Clients"}, responses = {
+            @ApiResponse(description = "Import report", responseCode = "200",
+                    content = @Content(schema = @Schema(implementation = ClientImportReportDto.class))),
+            @ApiResponse(description = "Bad Request", responseCode = "400", content = {@Content}),
+            @ApiResponse(description = "Internal Error", responseCode = "500", content = {@Content})
+    })
+    public ResponseEntity<ClientImportReportDto> importClientsJson(InputStream body) {
+        ClientImportReportDto report = importService.importJson(body);
+        return ResponseEntity.ok()
+                .headers(links.location(CLIENTS_PATH))
+                .body(report);
+    }
+
+    @PostMapping(value = "/bulk", consumes = TEXT_CSV_VALUE)
+    @Operation(summary = "Import clients from CSV",
+            description = "Stream CSV lines (name,age,income, optional header), validating each row and inserting in batched chunks",
+            tags = {"Neurotech Clients"}, responses = {
+            @ApiResponse(description = "Import report", responseCode = "200",
+                    content = @Content(schema = @Schema(implementation = ClientImportReportDto.class))),
+            @ApiResponse(description = "Bad Request", responseCode = "400", content = {@Content}),
+            @ApiResponse(description = "Internal Error", responseCode = "500", content = {@Content})
+    })
+    public ResponseEntity<ClientImportReportDto> importClientsCsv(InputStream body) {
+        ClientImportReportDto report = importService.importCsv(body);
+        return ResponseEntity.ok()
+                .headers(links.location(CLIENTS_PATH))
+                .body(report);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update a client", description = "Update details of an existing Neurotech client",
             tags = {"Neurotech Clients"}, responses = {
@@ -90,30 +237,38 @@ public class NeurotechClientController {
             @Valid @RequestBody NeurotechClientDto client) {
 
         NeurotechClientDto updatedClient = service.update(id, client);
-        Map<String, String> hateoasLinks = service.getHateoasLinks(id);
 
         return ResponseEntity.ok()
-                .header("Location", hateoasLinks.get("self"))
+                .headers(links.clientLocation(id))
                 .body(updatedClient);
     }
 
-    @DeleteMapping("/{id}")
-    @Operation(summary = "Delete a client by ID", description = "Remove a Neurotech client from the system by their ID",
+    @PatchMapping("/{id}")
+    @Operation(summary = "Partially update a client", description = "Update only the fields present in the body of an existing Neurotech client",
             tags = {"Neurotech Clients"}, responses = {
             @ApiResponse(description = "No Content", responseCode = "204", content = @Content),
             @ApiResponse(description = "Not Found", responseCode = "404", content = {@Content}),
             @ApiResponse(description = "Internal Error", responseCode = "500", content = {@Content})
     })
-    public ResponseEntity<Void> deleteClient(@PathVariable Long id) {
-        service.delete(id);
-        Map<String, String> hateoasLinks = service.getHateoasLinks(id);
+    public ResponseEntity<Void> patchClient(@PathVariable Long id, @RequestBody NeurotechClientDto changes) {
+        service.patch(id, changes);
 
         return ResponseEntity.noContent()
-                .header("Location", hateoasLinks.get("self"))
+                .headers(links.clientLocation(id))
                 .build();
     }
 
-    private String linkToSelfList() {
-        return "/api/neurotech-clients";
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete a client by ID", description = "Remove a Neurotech client from the system by their ID",
+            tags = {"Neurotech Clients"}, responses = {
+            @ApiResponse(description = "No Content", responseCode = "204", content = @Content),
+            @ApiResponse(description = "Not Found", responseCode = "404", content = {@Content}),
+            @ApiResponse(description = "Internal Error", responseCode = "500", content = {@Content})
+    })
+    public ResponseEntity<Void> deleteClient(@PathVariable Long id) {
+        service.delete(id);
+
+        // O cliente não existe mais, então não há recurso para apontar no Location
+        return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,44 @@
+package br.com.neurotech.challenge.controllers;
+
+import br.com.neurotech.challenge.dtos.PortfolioStatsDto;
+import br.com.neurotech.challenge.service.PortfolioStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/credit/portfolio")
+@Tag(name = "Credit Portfolio", description = "Aggregated statistics of the client portfolio")
+public class PortfolioController {
+
+    private final PortfolioStatsService portfolioStatsService;
+
+    public PortfolioController(PortfolioStatsService portfolioStatsService) {
+        this.portfolioStatsService = portfolioStatsService;
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Get credit portfolio statistics",
+            description = "Clients per credit modality (including NOT_ELIGIBLE), eligible clients per vehicle model and " +
+                    "income histograms per age band. source=summary (default) answers from the incrementally maintained " +
+                    "summary and falls back to the database when it is not available; source=database runs a single " +
+                    "GROUP BY query.",
+            tags = {"Credit Portfolio"},
+            responses = {
+                    @ApiResponse(description = "Success", responseCode = "200",
+                            content = @Content(schema = @Schema(implementation = PortfolioStatsDto.class))),
+                    @ApiResponse(description = "Invalid source", responseCode = "400", content = {@Content}),
+                    @ApiResponse(description = "Internal Error", responseCode = "500", content = {@Content})
+            })
+    public ResponseEntity<PortfolioStatsDto> getStats(
+            @RequestParam(defaultValue = PortfolioStatsService.SOURCE_SUMMARY) String source) {
+        return ResponseEntity.ok(portfolioStatsService.stats(source));
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.neurotech.challenge.controllers;
+
+import br.com.neurotech.challenge.dtos.CreditCheckResponseDto;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import br.com.neurotech.challenge.service.ReactiveCreditService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+// O Spring MVC trata o Mono como resposta assíncrona: a thread do Tomcat é liberada e a resposta é escrita
+// quando o Mono emite. Com o r2dbc-h2 a consulta em si ainda roda de forma síncrona na thread que assina.
+@RestController
+@RequestMapping("/api/credit/reactive")
+@Tag(name = "Credit", description = "Endpoints for checking credit eligibility for clients")
+public class ReactiveCreditController {
+
+    private final ReactiveCreditService reactiveCreditService;
+    private final LinkTemplates links;
+
+    public ReactiveCreditController(ReactiveCreditService reactiveCreditService, LinkTemplates links) {
+        this.reactiveCreditService = reactiveCreditService;
+        this.links = links;
+    }
+
+    @GetMapping("/client/{clientId}/automotive")
+    @Operation(summary = "Check automotive credit eligibility (reactive)",
+            description = "Same check as /api/credit/client/{clientId}/automotive, reading the client through R2DBC. " +
+                    "The servlet thread is released while the check runs, but the embedded H2 R2DBC driver still " +
+                    "executes the query synchronously on the subscribing thread",
+            tags = {"Credit"},
+            responses = {
+                    @ApiResponse(description = "Eligible for credit", responseCode = "200", content = @Content(schema = @Schema(implementation = CreditCheckResponseDto.class))),
+                    @ApiResponse(description = "Client not eligible for credit", responseCode = "400", content = @Content(schema = @Schema(implementation = CreditCheckResponseDto.class))),
+                    @ApiResponse(description = "Client not found", responseCode = "404", content = @Content),
+                    @ApiResponse(description = "Internal server error", responseCode = "500", content = @Content)
+            })
+    public Mono<ResponseEntity<CreditCheckResponseDto>> checkCredit(@PathVariable Long clientId, @RequestParam VehicleModel model) {
+        // Montado aqui, na thread da requisição, onde a URL base está disponível
+        HttpHeaders headers = links.creditCheckLocation(clientId, model);
+        return reactiveCreditService.checkCredit(clientId, model)
+                .map(response -> ResponseEntity.status(response.isEligible() ? HttpStatus.OK : HttpStatus.BAD_REQUEST)
+                        .headers(headers)
+                        .body(response));
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.neurotech.challenge.dtos;
+
+import org.springframework.http.MediaType;
+
+public final class ApiMediaTypes {
+
+    // Representação enxuta (records, sem links HATEOAS) para chamadores de alto volume
+    public static final String LEAN_JSON_VALUE = "application/vnd.neurotech.lean+json";
+    public static final MediaType LEAN_JSON = MediaType.parseMediaType(LEAN_JSON_VALUE);
+
+    private ApiMediaTypes() {
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.neurotech.challenge.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ClientImportErrorDto {
+
+    // Número da linha (CSV, contando o cabeçalho) ou posição do elemento no array JSON, a partir de 1
+    private long row;
+    private String message;
+
+}
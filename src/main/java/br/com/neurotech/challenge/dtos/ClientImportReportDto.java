@@ -0,0 +1,22 @@
+package br.com.neurotech.challenge.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ClientImportReportDto {
+
+    private long received;
+    private long imported;
+    private long failed;
+    private List<ClientImportErrorDto> errors;
+
+    // Indica que existem mais erros do que os listados em 'errors'
+    private boolean errorsTruncated;
+
+}
@@ -0,0 +1,19 @@
+package br.com.neurotech.challenge.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class ClientPageDto {
+
+    private List<NeurotechClientDto> content;
+
+    // ID do último cliente da página; null quando não há próxima página
+    private Long nextCursor;
+
+}
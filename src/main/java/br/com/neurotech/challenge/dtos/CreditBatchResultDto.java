@@ -0,0 +1,20 @@
+package br.com.neurotech.challenge.dtos;
+
+import br.com.neurotech.challenge.entity.CreditCheckStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CreditBatchResultDto {
+
+    private Long clientId;
+    private String clientName;
+    private String vehicleModel;
+    private CreditCheckStatus status;
+    private boolean eligible;
+    private String message;
+
+}
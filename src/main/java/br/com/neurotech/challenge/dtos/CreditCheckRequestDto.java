@@ -0,0 +1,16 @@
+package br.com.neurotech.challenge.dtos;
+
+import br.com.neurotech.challenge.entity.VehicleModel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CreditCheckRequestDto {
+
+    private Long clientId;
+    private VehicleModel model;
+
+}
@@ -0,0 +1,6 @@
+package br.com.neurotech.challenge.dtos;
+
+import java.util.List;
+
+public record EligibilityScanDto(long scanned, long rulesGeneration, List<ModelEligibilityDto> models) {
+}
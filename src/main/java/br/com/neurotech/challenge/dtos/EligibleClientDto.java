@@ -0,0 +1,5 @@
+package br.com.neurotech.challenge.dtos;
+
+// Cliente elegível para o Hatch: o mesmo formato dos mapas name/income, com renda primitiva
+public record EligibleClientDto(String name, double income) {
+}
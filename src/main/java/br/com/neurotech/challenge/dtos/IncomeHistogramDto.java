@@ -0,0 +1,8 @@
+package br.com.neurotech.challenge.dtos;
+
+import java.util.List;
+
+// Histograma de renda de uma faixa etária. minAge/maxAge nulos indicam faixa aberta; o bucket i cobre
+// [i * bucketWidth, (i + 1) * bucketWidth) e o último acumula tudo acima
+public record IncomeHistogramDto(Integer minAge, Integer maxAge, long clients, double bucketWidth, List<Long> counts) {
+}
@@ -0,0 +1,16 @@
+package br.com.neurotech.challenge.dtos;
+
+import br.com.neurotech.challenge.entity.ClientSnapshot;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+
+// Mesmos campos do NeurotechClientDto, sem RepresentationModel
+public record LeanClientDto(Long key, String name, Integer age, Double income) {
+
+    public static LeanClientDto of(NeurotechClient client) {
+        return new LeanClientDto(client.getId(), client.getName(), client.getAge(), client.getIncome());
+    }
+
+    public static LeanClientDto of(ClientSnapshot client) {
+        return new LeanClientDto(client.id(), client.name(), client.age(), client.income());
+    }
+}
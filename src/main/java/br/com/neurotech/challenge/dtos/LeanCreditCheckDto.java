@@ -0,0 +1,10 @@
+package br.com.neurotech.challenge.dtos;
+
+// Mesmos campos do CreditCheckResponseDto, sem RepresentationModel
+public record LeanCreditCheckDto(Long clientId, String clientName, String vehicleModel, boolean eligible, String message) {
+
+    public static LeanCreditCheckDto of(CreditCheckResponseDto response) {
+        return new LeanCreditCheckDto(response.getClientId(), response.getClientName(), response.getVehicleModel(),
+                response.isEligible(), response.getMessage());
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.neurotech.challenge.dtos;
+
+import br.com.neurotech.challenge.entity.CreditModality;
+import br.com.neurotech.challenge.entity.CreditRejectionReason;
+import br.com.neurotech.challenge.entity.VehicleModel;
+
+import java.util.List;
+import java.util.Map;
+
+// Resultado da varredura para um modelo: totais por modalidade e por motivo de recusa, e os aprovados
+// (lista vazia quando a varredura foi pedida só com os totais)
+public record ModelEligibilityDto(VehicleModel model,
+                                  long eligible,
+                                  long rejected,
+                                  Map<CreditModality, Long> eligibleByModality,
+                                  Map<CreditRejectionReason, Long> rejectedByReason,
+                                  List<ScannedClientDto> clients) {
+}
@@ -0,0 +1,18 @@
+package br.com.neurotech.challenge.dtos;
+
+import br.com.neurotech.challenge.entity.VehicleModel;
+
+import java.util.List;
+import java.util.Map;
+
+// Totais da carteira: clientes por modalidade (NOT_ELIGIBLE para quem não se encaixa em nenhuma),
+// aprovados por modelo e histogramas de renda por faixa etária. source indica se veio do resumo ou do banco.
+public record PortfolioStatsDto(long clients,
+                                String source,
+                                long rulesGeneration,
+                                Map<String, Long> clientsByModality,
+                                Map<VehicleModel, Long> eligibleByModel,
+                                List<IncomeHistogramDto> incomeHistograms) {
+
+    public static final String NOT_ELIGIBLE = "NOT_ELIGIBLE";
+}
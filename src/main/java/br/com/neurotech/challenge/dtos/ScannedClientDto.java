@@ -0,0 +1,7 @@
+package br.com.neurotech.challenge.dtos;
+
+import br.com.neurotech.challenge.entity.CreditModality;
+
+// Cliente aprovado para um modelo na varredura completa, com a modalidade concedida
+public record ScannedClientDto(long id, String name, int age, double income, CreditModality modality) {
+}
@@ -0,0 +1,10 @@
+package br.com.neurotech.challenge.entity;
+
+// Cópia imutável dos dados do cliente, segura para compartilhar entre requisições
+public record ClientSnapshot(long id, long version, String name, int age, double income) {
+
+	public static ClientSnapshot of(NeurotechClient client) {
+		long version = client.getVersion() == null ? 0L : client.getVersion();
+		return new ClientSnapshot(client.getId(), version, client.getName(), client.getAge(), client.getIncome());
+	}
+}
@@ -0,0 +1,7 @@
+package br.com.neurotech.challenge.entity;
+
+// Uma verificação de crédito lida do log de auditoria. sequence é a posição do registro no log;
+// modality e rejectionReason ficam nulos quando não se aplicam (ex.: cliente não encontrado).
+public record CreditCheckRecord(long sequence, long timestamp, long clientId, VehicleModel model,
+								CreditCheckStatus status, CreditModality modality, CreditRejectionReason rejectionReason) {
+}
@@ -0,0 +1,5 @@
+package br.com.neurotech.challenge.entity;
+
+public enum CreditCheckStatus {
+	ELIGIBLE, NOT_ELIGIBLE, NOT_FOUND, INVALID
+}
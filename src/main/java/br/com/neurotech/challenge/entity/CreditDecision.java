@@ -0,0 +1,56 @@
+package br.com.neurotech.challenge.entity;
+
+// Resultado da análise de crédito. As instâncias são pré-criadas, então decidir não aloca nada.
+public record CreditDecision(CreditModality modality, CreditRejectionReason rejectionReason) {
+
+	private static final CreditModality[] MODALITIES = CreditModality.values();
+	private static final CreditRejectionReason[] REASONS = CreditRejectionReason.values();
+	private static final CreditDecision[] DECISIONS = new CreditDecision[(MODALITIES.length + 1) * (REASONS.length + 1)];
+
+	static {
+		for (int m = 0; m <= MODALITIES.length; m++) {
+			for (int r = 0; r <= REASONS.length; r++) {
+				DECISIONS[m * (REASONS.length + 1) + r] =
+						new CreditDecision(m == 0 ? null : MODALITIES[m - 1], r == 0 ? null : REASONS[r - 1]);
+			}
+		}
+	}
+
+	public static CreditDecision approved(CreditModality modality) {
+		return of(modality, null);
+	}
+
+	public static CreditDecision rejected(CreditModality modality, CreditRejectionReason reason) {
+		return of(modality, reason);
+	}
+
+	public static CreditDecision of(CreditModality modality, CreditRejectionReason reason) {
+		return DECISIONS[codeOf(modality, reason)];
+	}
+
+	// Código compacto (cabe em um byte) usado pelas tabelas de decisão pré-calculadas
+	public static CreditDecision fromCode(int code) {
+		return DECISIONS[code];
+	}
+
+	// Quantidade de códigos distintos (inclui a combinação sem modalidade e sem motivo, nunca produzida)
+	public static int codeCount() {
+		return DECISIONS.length;
+	}
+
+	public int code() {
+		return codeOf(modality, rejectionReason);
+	}
+
+	private static int codeOf(CreditModality modality, CreditRejectionReason reason) {
+		return (modality == null ? 0 : modality.ordinal() + 1) * (REASONS.length + 1) + (reason == null ? 0 : reason.ordinal() + 1);
+	}
+
+	public boolean isApproved() {
+		return rejectionReason == null;
+	}
+
+	public String message() {
+		return isApproved() ? modality.getApprovalMessage() : rejectionReason.getMessage();
+	}
+}
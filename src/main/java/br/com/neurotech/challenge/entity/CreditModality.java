@@ -0,0 +1,23 @@
+package br.com.neurotech.challenge.entity;
+
+public enum CreditModality {
+	FIXED_INTEREST("Crédito com Juros Fixos (5% a.a)"),
+	VARIABLE_INTEREST("Crédito com Juros Variáveis"),
+	PAYROLL_DEDUCTED("Crédito Consignado");
+
+	private final String description;
+	private final String approvalMessage;
+
+	CreditModality(String description) {
+		this.description = description;
+		this.approvalMessage = "Apto para crédito automotivo na modalidade: " + description;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public String getApprovalMessage() {
+		return approvalMessage;
+	}
+}
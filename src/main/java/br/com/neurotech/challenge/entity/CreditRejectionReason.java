@@ -0,0 +1,24 @@
+package br.com.neurotech.challenge.entity;
+
+public enum CreditRejectionReason {
+	NO_CREDIT_MODALITY("Cliente não atende aos critérios de crédito."),
+	HATCH_REQUIREMENTS_NOT_MET("Cliente não é elegível para crédito para veículo do tipo Hatch."),
+	SUV_REQUIREMENTS_NOT_MET("Cliente não é elegível para crédito para veículo do tipo SUV.");
+
+	private final String message;
+
+	CreditRejectionReason(String message) {
+		this.message = message;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public static CreditRejectionReason forVehicle(VehicleModel model) {
+		return switch (model) {
+			case HATCH -> HATCH_REQUIREMENTS_NOT_MET;
+			case SUV -> SUV_REQUIREMENTS_NOT_MET;
+		};
+	}
+}
@@ -13,11 +13,14 @@ import java.util.UUID;
 @Data
 @Entity
 @Builder
-@Table(name = "neurotech_client")
+@Table(name = "neurotech_client",
+		indexes = @Index(name = "idx_neurotech_client_age_income", columnList = "age, income"))
 public class NeurotechClient {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.AUTO)
+	// Sequência com alocação em blocos (otimizador pooled): inserções em lote não pagam um round trip por ID
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "neurotech_client_seq")
+	@SequenceGenerator(name = "neurotech_client_seq", sequenceName = "neurotech_client_seq", allocationSize = 1000)
 	@Column(name = "id", nullable = false, updatable = false)
 	private Long id;
 
@@ -30,4 +33,9 @@ public class NeurotechClient {
 	@Column(name = "income", nullable = false)
 	private Double income;
 
+	// Incrementada a cada alteração; identifica a versão dos dados usada em decisões memorizadas
+	@Version
+	@Column(name = "version")
+	private Long version;
+
 }
\ No newline at end of file
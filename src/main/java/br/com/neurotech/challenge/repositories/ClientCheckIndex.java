@@ -0,0 +1,70 @@
+package br.com.neurotech.challenge.repositories;
+
+import br.com.neurotech.challenge.snapshot.LongIntHashMap;
+
+import java.util.Arrays;
+
+// Índice em memória do log de crédito: para cada cliente, as sequências das últimas depth verificações (em
+// anel) e o total de verificações dele no log. Memória: cerca de 8 * depth + 32 bytes por cliente distinto
+// que já passou por uma verificação. Não é thread-safe: o MappedCreditRepository o acessa sob a trava de gravação.
+final class ClientCheckIndex {
+
+    private static final int INITIAL_CLIENTS = 1024;
+
+    private final int depth;
+    private final LongIntHashMap slotsByClient = new LongIntHashMap(INITIAL_CLIENTS);
+    // O anel do cliente no slot s ocupa sequences[s * depth, (s + 1) * depth)
+    private long[] sequences;
+    private long[] totals;
+    private int clients;
+
+    ClientCheckIndex(int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Profundidade do índice de verificações inválida: " + depth + ".");
+        }
+        this.depth = depth;
+        this.sequences = new long[INITIAL_CLIENTS * depth];
+        this.totals = new long[INITIAL_CLIENTS];
+    }
+
+    // As sequências de um mesmo cliente chegam sempre em ordem crescente
+    void add(long clientId, long sequence) {
+        int slot = slotsByClient.get(clientId);
+        if (slot == LongIntHashMap.MISSING) {
+            if (clients == totals.length) {
+                long capacity = (long) clients << 1;
+                if (capacity * depth > Integer.MAX_VALUE - 8) {
+                    throw new IllegalStateException("Índice de verificações do log de crédito cheio: reduza app.credit-log.client-index-depth.");
+                }
+                totals = Arrays.copyOf(totals, (int) capacity);
+                sequences = Arrays.copyOf(sequences, (int) capacity * depth);
+            }
+            slot = clients++;
+            slotsByClient.put(clientId, slot);
+        }
+        long total = totals[slot];
+        sequences[slot * depth + (int) (total % depth)] = sequence;
+        totals[slot] = total + 1;
+    }
+
+    // Total de verificações do cliente no log (0 se nunca passou por uma)
+    long total(long clientId) {
+        int slot = slotsByClient.get(clientId);
+        return slot == LongIntHashMap.MISSING ? 0 : totals[slot];
+    }
+
+    // Até limit sequências do cliente, da mais nova para a mais antiga; no máximo depth
+    long[] latest(long clientId, int limit) {
+        int slot = slotsByClient.get(clientId);
+        if (slot == LongIntHashMap.MISSING) {
+            return new long[0];
+        }
+        long total = totals[slot];
+        int count = (int) Math.min(Math.min(total, depth), limit);
+        long[] latest = new long[count];
+        for (int k = 0; k < count; k++) {
+            latest[k] = sequences[slot * depth + (int) ((total - 1 - k) % depth)];
+        }
+        return latest;
+    }
+}
@@ -0,0 +1,5 @@
+package br.com.neurotech.challenge.repositories;
+
+// Linha de formato fixo preenchida por expressão de construtor no JPQL: sem proxy de projeção nem boxing
+public record ClientIncomeRow(String name, int age, double income) {
+}
@@ -1,12 +1,72 @@
 package br.com.neurotech.challenge.repositories;
 
 import br.com.neurotech.challenge.entity.NeurotechClient;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
 public interface ClientRepository extends JpaRepository<NeurotechClient, Long> {
 
+    // Usa o índice (age, income) e devolve apenas as colunas exibidas, na mesma ordem do findAll
+    @Query("SELECT new br.com.neurotech.challenge.repositories.ClientIncomeRow(c.name, c.age, c.income) " +
+            "FROM NeurotechClient c " +
+            "WHERE c.age BETWEEN :minAge AND :maxAge " +
+            "AND c.income BETWEEN :minIncome AND :maxIncome " +
+            "ORDER BY c.id")
+    List<ClientIncomeRow> findInAgeAndIncomeRange(@Param("minAge") int minAge,
+                                                  @Param("maxAge") int maxAge,
+                                                  @Param("minIncome") double minIncome,
+                                                  @Param("maxIncome") double maxIncome);
+
+    // Mesma consulta em streaming, para respostas grandes; precisa de uma transação aberta enquanto é consumida
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT new br.com.neurotech.challenge.repositories.ClientIncomeRow(c.name, c.age, c.income) " +
+            "FROM NeurotechClient c " +
+            "WHERE c.age BETWEEN :minAge AND :maxAge " +
+            "AND c.income BETWEEN :minIncome AND :maxIncome " +
+            "ORDER BY c.id")
+    Stream<ClientIncomeRow> streamInAgeAndIncomeRange(@Param("minAge") int minAge,
+                                                      @Param("maxAge") int maxAge,
+                                                      @Param("minIncome") double minIncome,
+                                                      @Param("maxIncome") double maxIncome);
+
+    // Paginação por cursor: só lê as linhas depois do último ID entregue
+    List<NeurotechClient> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // Precisa de uma transação aberta enquanto o stream é consumido
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT c FROM NeurotechClient c ORDER BY c.id")
+    Stream<NeurotechClient> streamAllOrderedById();
+
+    // Atualizações e exclusão em um único comando; o número de linhas afetadas indica se o ID existia.
+    // A versão é incrementada manualmente porque UPDATE em JPQL não passa pelo controle do @Version.
+    @Modifying
+    @Query("UPDATE NeurotechClient c SET c.name = :name, c.age = :age, c.income = :income, " +
+            "c.version = COALESCE(c.version, 0) + 1 WHERE c.id = :id")
+    int replaceById(@Param("id") Long id, @Param("name") String name,
+                    @Param("age") Integer age, @Param("income") Double income);
+
+    @Modifying
+    @Query("UPDATE NeurotechClient c SET c.name = COALESCE(:name, c.name), c.age = COALESCE(:age, c.age), " +
+            "c.income = COALESCE(:income, c.income), c.version = COALESCE(c.version, 0) + 1 WHERE c.id = :id")
+    int patchById(@Param("id") Long id, @Param("name") String name,
+                  @Param("age") Integer age, @Param("income") Double income);
+
+    @Modifying
+    @Query("DELETE FROM NeurotechClient c WHERE c.id = :id")
+    int removeById(@Param("id") Long id);
 
+    // Lido na mesma transação do UPDATE acima: a trava da linha vai até o commit, então é a versão que será gravada
+    @Query("SELECT c.version FROM NeurotechClient c WHERE c.id = :id")
+    Long findVersionById(@Param("id") Long id);
 
 }
@@ -0,0 +1,16 @@
+package br.com.neurotech.challenge.repositories;
+
+// Cursor sobre um cliente durante ClientStore.forEach: a mesma instância é reposicionada a cada linha e
+// não deve ser guardada. name() é o único acesso que pode alocar (decodifica o nome sob demanda).
+public interface ClientRow {
+
+    long id();
+
+    long version();
+
+    String name();
+
+    int age();
+
+    double income();
+}
@@ -0,0 +1,41 @@
+package br.com.neurotech.challenge.repositories;
+
+import br.com.neurotech.challenge.entity.ClientSnapshot;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Origem de todas as leituras de clientes (busca, listagem, paginação, streaming, varredura por faixa, cache
+// de clientes e snapshot colunar). O backend é escolhido por app.client-store.backend: jpa (padrão) ou mapped
+// (arquivo exportado por outro nó, mapeado em memória). As escritas vão pelo ClientRepository; nos nós com
+// mapped ele é trocado por uma versão que recusa toda chamada (ReadOnlyDatabaseConfiguration).
+public interface ClientStore {
+
+    // null quando o cliente não existe
+    ClientSnapshot findById(long id);
+
+    // Só os IDs encontrados aparecem no mapa
+    Map<Long, ClientSnapshot> findAllById(Collection<Long> ids);
+
+    // Todos os clientes em ordem de ID
+    void forEach(Consumer<ClientRow> action);
+
+    // Até limit clientes com ID maior que afterId, em ordem de ID
+    void forEachAfter(long afterId, int limit, Consumer<ClientRow> action);
+
+    // Clientes com idade e renda dentro das faixas (limites inclusive), em ordem de ID; quem não tem idade
+    // ou renda fica de fora
+    List<ClientIncomeRow> findInAgeAndIncomeRange(int minAge, int maxAge, double minIncome, double maxIncome);
+
+    // Mesma consulta entregue linha a linha, para respostas grandes
+    void forEachInAgeAndIncomeRange(int minAge, int maxAge, double minIncome, double maxIncome,
+                                    Consumer<ClientIncomeRow> action);
+
+    long count();
+
+    // Chamado depois que o backend passa a servir outra versão dos dados; o JPA nunca troca de versão
+    default void addReloadListener(Runnable listener) {
+    }
+}
@@ -1,4 +1,25 @@
 package br.com.neurotech.challenge.repositories;
 
+import br.com.neurotech.challenge.entity.CreditCheckRecord;
+import br.com.neurotech.challenge.entity.CreditDecision;
+import br.com.neurotech.challenge.entity.VehicleModel;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+// Log de auditoria das verificações de crédito: registros só são acrescentados, nunca alterados.
+// Os métodos de gravação devolvem a sequência do registro, ou -1 quando o log está desligado.
 public interface CreditRepository {
+
+    long append(long clientId, VehicleModel model, CreditDecision decision);
+
+    long appendNotFound(long clientId, VehicleModel model);
+
+    // Registros com timestamp (epoch em ms) entre from e to, inclusive, na ordem em que foram gravados
+    void scan(long fromTimestamp, long toTimestamp, Consumer<CreditCheckRecord> action);
+
+    // Últimos registros do cliente, do mais recente para o mais antigo
+    List<CreditCheckRecord> findLatestByClientId(long clientId, int limit);
+
+    long count();
 }
@@ -0,0 +1,124 @@
+package br.com.neurotech.challenge.repositories;
+
+import br.com.neurotech.challenge.entity.ClientSnapshot;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Backend padrão: lê as entidades pelo ClientRepository
+@Repository
+@ConditionalOnProperty(name = "app.client-store.backend", havingValue = "jpa", matchIfMissing = true)
+public class JpaClientStore implements ClientStore {
+
+    private final ClientRepository repository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public JpaClientStore(ClientRepository repository, EntityManager entityManager,
+                          PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public ClientSnapshot findById(long id) {
+        return repository.findById(id).map(ClientSnapshot::of).orElse(null);
+    }
+
+    @Override
+    public Map<Long, ClientSnapshot> findAllById(Collection<Long> ids) {
+        Map<Long, ClientSnapshot> clients = new HashMap<>();
+        for (NeurotechClient client : repository.findAllById(ids)) {
+            clients.put(client.getId(), ClientSnapshot.of(client));
+        }
+        return clients;
+    }
+
+    @Override
+    public void forEach(Consumer<ClientRow> action) {
+        EntityRow row = new EntityRow();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<NeurotechClient> clients = repository.streamAllOrderedById()) {
+                clients.forEach(client -> {
+                    row.client = client;
+                    action.accept(row);
+                    // Mantém o contexto de persistência vazio para a memória não crescer com a tabela
+                    entityManager.detach(client);
+                });
+            }
+        });
+    }
+
+    @Override
+    public void forEachAfter(long afterId, int limit, Consumer<ClientRow> action) {
+        EntityRow row = new EntityRow();
+        for (NeurotechClient client : repository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, limit))) {
+            row.client = client;
+            action.accept(row);
+        }
+    }
+
+    @Override
+    public List<ClientIncomeRow> findInAgeAndIncomeRange(int minAge, int maxAge, double minIncome, double maxIncome) {
+        return repository.findInAgeAndIncomeRange(minAge, maxAge, minIncome, maxIncome);
+    }
+
+    @Override
+    public void forEachInAgeAndIncomeRange(int minAge, int maxAge, double minIncome, double maxIncome,
+                                           Consumer<ClientIncomeRow> action) {
+        // O cursor do banco só avança dentro de uma transação
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<ClientIncomeRow> rows = repository.streamInAgeAndIncomeRange(minAge, maxAge, minIncome, maxIncome)) {
+                rows.forEach(action);
+            }
+        });
+    }
+
+    @Override
+    public long count() {
+        return repository.count();
+    }
+
+    private static final class EntityRow implements ClientRow {
+        private NeurotechClient client;
+
+        @Override
+        public long id() {
+            return client.getId();
+        }
+
+        @Override
+        public long version() {
+            return client.getVersion() == null ? 0L : client.getVersion();
+        }
+
+        @Override
+        public String name() {
+            return client.getName();
+        }
+
+        // Sem idade ou renda a linha fica fora das análises, como no snapshot colunar
+        @Override
+        public int age() {
+            return client.getAge() == null ? Integer.MIN_VALUE : client.getAge();
+        }
+
+        @Override
+        public double income() {
+            return client.getIncome() == null ? Double.NaN : client.getIncome();
+        }
+    }
+}
@@ -0,0 +1,414 @@
+package br.com.neurotech.challenge.repositories;
+
+import br.com.neurotech.challenge.entity.ClientSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Backend somente leitura para os nós de análise de crédito: um arquivo exportado do banco (export) e
+// mapeado em memória. Layout:
+//   cabeçalho (64 bytes): 0 magic | 4 versão do formato | 8 quantidade de clientes (long)
+//                         | 16 capacidade do índice (int) | 24 tamanho da área de nomes (long)
+//   registros (32 bytes cada, em ordem de ID): 0 id | 8 versão | 16 renda (double) | 24 idade (int)
+//                                              | 28 posição do nome na área de nomes (int, -1 sem nome)
+//   índice (12 bytes por posição): 0 id | 8 linha + 1 (int, 0 = posição livre), endereçamento aberto
+//   nomes: tamanho (unsigned short) seguido dos bytes em UTF-8
+// Buscas e varreduras leem direto das páginas mapeadas; só o ClientSnapshot devolvido e o nome
+// decodificado são objetos. Quando o arquivo muda, o agendador o mapeia de novo e troca a versão em uso.
+@Repository
+@ConditionalOnProperty(name = "app.client-store.backend", havingValue = "mapped")
+public class MappedClientStore implements ClientStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedClientStore.class);
+
+    static final int HEADER_BYTES = 64;
+    static final int RECORD_BYTES = 32;
+    static final int SLOT_BYTES = 12;
+    private static final int MAGIC = 0x4E434C53;
+    private static final int FORMAT_VERSION = 1;
+    private static final int NO_NAME = -1;
+    private static final int MAX_NAME_BYTES = 0xFFFF;
+    private static final int MAX_RECORDS = Integer.MAX_VALUE / RECORD_BYTES;
+
+    private final Path file;
+    private final List<Runnable> reloadListeners = new CopyOnWriteArrayList<>();
+    private volatile Snapshot snapshot;
+    private volatile long lastModified;
+
+    public MappedClientStore(@Value("${app.client-store.mapped.file:data/clients.bin}") String file) {
+        this.file = Path.of(file);
+        this.lastModified = lastModifiedOf(this.file);
+        // Sem o arquivo o nó não tem de onde ler clientes, então a aplicação não sobe
+        try {
+            this.snapshot = Snapshot.open(this.file);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Não foi possível abrir o arquivo de clientes " + file + ".", ex);
+        }
+        logger.info("Arquivo de clientes {} mapeado com {} clientes.", file, snapshot.count);
+    }
+
+    @Scheduled(fixedDelayString = "${app.client-store.mapped.reload-interval:PT30S}")
+    public void reloadIfModified() {
+        long modified = lastModifiedOf(file);
+        if (modified == lastModified) {
+            return;
+        }
+        try {
+            snapshot = Snapshot.open(file);
+            lastModified = modified;
+            logger.info("Arquivo de clientes {} recarregado com {} clientes.", file, snapshot.count);
+        } catch (IOException | RuntimeException ex) {
+            logger.error("Erro ao recarregar o arquivo de clientes, mantendo a versão atual: {}", ex.getMessage(), ex);
+            return;
+        }
+        for (Runnable listener : reloadListeners) {
+            listener.run();
+        }
+    }
+
+    @Override
+    public void addReloadListener(Runnable listener) {
+        reloadListeners.add(listener);
+    }
+
+    @Override
+    public ClientSnapshot findById(long id) {
+        Snapshot current = snapshot;
+        int row = current.rowOf(id);
+        return row < 0 ? null : current.toSnapshot(row);
+    }
+
+    @Override
+    public Map<Long, ClientSnapshot> findAllById(Collection<Long> ids) {
+        Snapshot current = snapshot;
+        Map<Long, ClientSnapshot> clients = new HashMap<>();
+        for (Long id : ids) {
+            int row = current.rowOf(id);
+            if (row >= 0) {
+                clients.put(id, current.toSnapshot(row));
+            }
+        }
+        return clients;
+    }
+
+    @Override
+    public void forEach(Consumer<ClientRow> action) {
+        Snapshot current = snapshot;
+        MappedRow row = new MappedRow(current);
+        for (int i = 0; i < current.count; i++) {
+            row.offset = i * RECORD_BYTES;
+            action.accept(row);
+        }
+    }
+
+    @Override
+    public void forEachAfter(long afterId, int limit, Consumer<ClientRow> action) {
+        Snapshot current = snapshot;
+        int from = current.firstRowAfter(afterId);
+        int to = (int) Math.min(current.count, (long) from + Math.max(limit, 0));
+        MappedRow row = new MappedRow(current);
+        for (int i = from; i < to; i++) {
+            row.offset = i * RECORD_BYTES;
+            action.accept(row);
+        }
+    }
+
+    @Override
+    public List<ClientIncomeRow> findInAgeAndIncomeRange(int minAge, int maxAge, double minIncome, double maxIncome) {
+        List<ClientIncomeRow> rows = new ArrayList<>();
+        forEachInAgeAndIncomeRange(minAge, maxAge, minIncome, maxIncome, rows::add);
+        return rows;
+    }
+
+    // Sem índice por faixa: varre os registros e só decodifica o nome de quem está dentro dela. Idade
+    // ausente (Integer.MIN_VALUE) e renda ausente (NaN) nunca passam pelas comparações.
+    @Override
+    public void forEachInAgeAndIncomeRange(int minAge, int maxAge, double minIncome, double maxIncome,
+                                           Consumer<ClientIncomeRow> action) {
+        Snapshot current = snapshot;
+        for (int i = 0; i < current.count; i++) {
+            int offset = i * RECORD_BYTES;
+            int age = current.records.getInt(offset + 24);
+            double income = current.records.getDouble(offset + 16);
+            if (age >= minAge && age <= maxAge && income >= minIncome && income <= maxIncome) {
+                action.accept(new ClientIncomeRow(current.name(offset), age, income));
+            }
+        }
+    }
+
+    @Override
+    public long count() {
+        return snapshot.count;
+    }
+
+    // Grava todos os clientes da origem em um arquivo temporário ao lado do destino e o move por cima
+    // dele, então quem está lendo nunca vê um arquivo pela metade. Devolve a quantidade exportada.
+    public static int export(ClientStore source, Path target) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        String prefix = target.getFileName().toString();
+        Path recordsFile = Files.createTempFile(directory, prefix, ".records");
+        Path namesFile = Files.createTempFile(directory, prefix, ".names");
+        Path assembled = Files.createTempFile(directory, prefix, ".tmp");
+        try {
+            int[] count = new int[1];
+            long[] namesBytes = new long[1];
+            try (DataOutputStream records = output(recordsFile); DataOutputStream names = output(namesFile)) {
+                source.forEach(row -> {
+                    if (count[0] == MAX_RECORDS) {
+                        throw new IllegalStateException("O arquivo de clientes comporta no máximo " + MAX_RECORDS + " clientes.");
+                    }
+                    try {
+                        int nameOffset = NO_NAME;
+                        String name = row.name();
+                        if (name != null) {
+                            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                            if (bytes.length > MAX_NAME_BYTES || namesBytes[0] + 2 + bytes.length > Integer.MAX_VALUE) {
+                                throw new IllegalStateException("Nome do cliente " + row.id() + " não cabe no arquivo de clientes.");
+                            }
+                            nameOffset = (int) namesBytes[0];
+                            names.writeShort(bytes.length);
+                            names.write(bytes);
+                            namesBytes[0] += 2 + bytes.length;
+                        }
+                        records.writeLong(row.id());
+                        records.writeLong(row.version());
+                        records.writeDouble(row.income());
+                        records.writeInt(row.age());
+                        records.writeInt(nameOffset);
+                        count[0]++;
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+
+            int capacity = indexCapacity(count[0]);
+            long recordsStart = HEADER_BYTES;
+            long indexStart = recordsStart + (long) count[0] * RECORD_BYTES;
+            long namesStart = indexStart + (long) capacity * SLOT_BYTES;
+            try (FileChannel out = FileChannel.open(assembled, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                // Cada área é escrita a partir do fim atual do arquivo: transferFrom não grava além dele
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                header.putInt(0, MAGIC);
+                header.putInt(4, FORMAT_VERSION);
+                header.putLong(8, count[0]);
+                header.putInt(16, capacity);
+                header.putLong(24, namesBytes[0]);
+                while (header.hasRemaining()) {
+                    out.write(header, header.position());
+                }
+                transfer(recordsFile, out, recordsStart);
+                MappedByteBuffer index = out.map(FileChannel.MapMode.READ_WRITE, indexStart, (long) capacity * SLOT_BYTES);
+                try (FileChannel in = FileChannel.open(recordsFile, StandardOpenOption.READ)) {
+                    MappedByteBuffer records = in.map(FileChannel.MapMode.READ_ONLY, 0, (long) count[0] * RECORD_BYTES);
+                    for (int row = 0; row < count[0]; row++) {
+                        insert(index, capacity - 1, records.getLong(row * RECORD_BYTES), row);
+                    }
+                }
+                index.force();
+                transfer(namesFile, out, namesStart);
+                out.force(true);
+            }
+            Files.move(assembled, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return count[0];
+        } finally {
+            Files.deleteIfExists(recordsFile);
+            Files.deleteIfExists(namesFile);
+            Files.deleteIfExists(assembled);
+        }
+    }
+
+    private static DataOutputStream output(Path path) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+    }
+
+    private static void transfer(Path source, FileChannel out, long position) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = in.size();
+            long copied = 0;
+            while (copied < size) {
+                copied += out.transferFrom(in, position + copied, size - copied);
+            }
+        }
+    }
+
+    // Potência de dois com no máximo metade das posições ocupadas, para sondagens curtas
+    static int indexCapacity(int count) {
+        return Integer.highestOneBit(Math.max(16, count * 2) - 1) << 1;
+    }
+
+    private static void insert(ByteBuffer index, int mask, long id, int row) {
+        for (int slot = slot(id, mask); ; slot = (slot + 1) & mask) {
+            int offset = slot * SLOT_BYTES;
+            if (index.getInt(offset + 8) == 0) {
+                index.putLong(offset, id);
+                index.putInt(offset + 8, row + 1);
+                return;
+            }
+            if (index.getLong(offset) == id) {
+                throw new IllegalStateException("ID de cliente repetido na exportação: " + id + ".");
+            }
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private static long lastModifiedOf(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException ex) {
+            return -1L;
+        }
+    }
+
+    // Uma versão mapeada do arquivo; continua válida para quem já a pegou mesmo depois de uma recarga
+    private static final class Snapshot {
+        final int count;
+        final int mask;
+        final ByteBuffer records;
+        final ByteBuffer index;
+        final ByteBuffer names;
+
+        private Snapshot(int count, int capacity, ByteBuffer records, ByteBuffer index, ByteBuffer names) {
+            this.count = count;
+            this.mask = capacity - 1;
+            this.records = records;
+            this.index = index;
+            this.names = names;
+        }
+
+        static Snapshot open(Path path) throws IOException {
+            // O mapeamento continua válido depois que o canal é fechado
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size < HEADER_BYTES) {
+                    throw new IllegalStateException("Arquivo de clientes " + path + " truncado.");
+                }
+                MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+                if (header.getInt(0) != MAGIC || header.getInt(4) != FORMAT_VERSION) {
+                    throw new IllegalStateException("Arquivo de clientes " + path + " em formato desconhecido.");
+                }
+                long count = header.getLong(8);
+                int capacity = header.getInt(16);
+                long namesBytes = header.getLong(24);
+                long indexStart = HEADER_BYTES + count * RECORD_BYTES;
+                long namesStart = indexStart + (long) capacity * SLOT_BYTES;
+                if (count < 0 || count > MAX_RECORDS || capacity != indexCapacity((int) count)
+                        || namesBytes < 0 || namesBytes > Integer.MAX_VALUE || namesStart + namesBytes != size) {
+                    throw new IllegalStateException("Arquivo de clientes " + path + " com tamanho inconsistente.");
+                }
+                return new Snapshot((int) count, capacity,
+                        channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, count * RECORD_BYTES),
+                        channel.map(FileChannel.MapMode.READ_ONLY, indexStart, (long) capacity * SLOT_BYTES),
+                        channel.map(FileChannel.MapMode.READ_ONLY, namesStart, namesBytes));
+            }
+        }
+
+        // -1 quando o ID não está no arquivo
+        int rowOf(long id) {
+            for (int slot = slot(id, mask); ; slot = (slot + 1) & mask) {
+                int offset = slot * SLOT_BYTES;
+                int row = index.getInt(offset + 8);
+                if (row == 0) {
+                    return -1;
+                }
+                if (index.getLong(offset) == id) {
+                    return row - 1;
+                }
+            }
+        }
+
+        // Busca binária pela primeira linha com ID maior que afterId; os registros estão em ordem de ID
+        int firstRowAfter(long afterId) {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (records.getLong(middle * RECORD_BYTES) <= afterId) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        ClientSnapshot toSnapshot(int row) {
+            int offset = row * RECORD_BYTES;
+            return new ClientSnapshot(records.getLong(offset), records.getLong(offset + 8), name(offset),
+                    records.getInt(offset + 24), records.getDouble(offset + 16));
+        }
+
+        String name(int recordOffset) {
+            int nameOffset = records.getInt(recordOffset + 28);
+            if (nameOffset == NO_NAME) {
+                return null;
+            }
+            byte[] bytes = new byte[names.getShort(nameOffset) & 0xFFFF];
+            names.get(nameOffset + 2, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static final class MappedRow implements ClientRow {
+        private final Snapshot snapshot;
+        private int offset;
+
+        MappedRow(Snapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public long id() {
+            return snapshot.records.getLong(offset);
+        }
+
+        @Override
+        public long version() {
+            return snapshot.records.getLong(offset + 8);
+        }
+
+        @Override
+        public String name() {
+            return snapshot.name(offset);
+        }
+
+        @Override
+        public int age() {
+            return snapshot.records.getInt(offset + 24);
+        }
+
+        @Override
+        public double income() {
+            return snapshot.records.getDouble(offset + 16);
+        }
+    }
+}
@@ -0,0 +1,455 @@
+package br.com.neurotech.challenge.repositories;
+
+import br.com.neurotech.challenge.entity.CreditCheckRecord;
+import br.com.neurotech.challenge.entity.CreditCheckStatus;
+import br.com.neurotech.challenge.entity.CreditDecision;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Log de auditoria em segmentos de tamanho fixo mapeados em memória. Cada registro tem 24 bytes:
+//   0 timestamp (long, epoch em ms) | 8 clientId (long) | 16 modelo | 17 status | 18 código da decisão
+//   | 19 reservado | 20 marcador de registro completo (int, gravado por último)
+// Gravar é copiar 24 bytes para a página mapeada; o force() para o disco é feito em grupo pelo agendador a
+// cada app.credit-log.force-interval, então uma queda perde no máximo esse intervalo. Quando o segmento
+// enche, um novo é criado e o anterior é descarregado por inteiro. Por padrão todos os segmentos ficam no
+// diretório do log (a auditoria exige guardar toda verificação); com app.credit-log.retained-segments > 0,
+// os mais antigos além desse número são movidos para app.credit-log.archive-directory, obrigatório nesse
+// caso. Nada é apagado: um segmento que não pôde ser movido continua no log. Na abertura, o último segmento
+// é lido até o primeiro registro sem marcador, que é onde as gravações continuam.
+// O histórico por cliente (findLatestByClientId) vem de um índice em memória com as sequências das últimas
+// app.credit-log.client-index-depth verificações de cada cliente, reconstruído na abertura com uma leitura
+// sequencial do log. Pedidos dentro dessa profundidade leem só os registros do cliente; só um pedido maior
+// que ela, de um cliente com mais verificações que ela, percorre o log para trás a partir do mais antigo indexado.
+@Repository
+public class MappedCreditRepository implements CreditRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedCreditRepository.class);
+
+    static final int RECORD_BYTES = 24;
+    private static final int COMMITTED = 0x4E435231;
+    private static final String SEGMENT_PREFIX = "credit-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final VehicleModel[] MODELS = VehicleModel.values();
+    private static final CreditCheckStatus[] STATUSES = CreditCheckStatus.values();
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final int retainedSegments;
+    private final Path archiveDirectory;
+    private final boolean enabled;
+    // Protegido por appendLock, como as gravações que o alimentam
+    private final ClientCheckIndex checkIndex;
+
+    // Gravação e force() têm travas separadas: descarregar o segmento não bloqueia quem está gravando
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock forceLock = new ReentrantLock();
+
+    // Todos os segmentos em ordem; o último é o que recebe gravações
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private volatile Segment current;
+    // Último timestamp gravado, protegido por appendLock: o relógio pode voltar (NTP), mas o log não
+    private long lastTimestamp = Long.MIN_VALUE;
+
+    public MappedCreditRepository(@Value("${app.credit-log.directory:data/credit-log}") String directory,
+                                  @Value("${app.credit-log.segment-records:1048576}") int segmentRecords,
+                                  @Value("${app.credit-log.retained-segments:0}") int retainedSegments,
+                                  @Value("${app.credit-log.archive-directory:}") String archiveDirectory,
+                                  @Value("${app.credit-log.client-index-depth:20}") int clientIndexDepth,
+                                  @Value("${app.credit-log.enabled:true}") boolean enabled) {
+        if (segmentRecords < 1 || (long) segmentRecords * RECORD_BYTES > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Quantidade de registros por segmento inválida: " + segmentRecords + ".");
+        }
+        if (retainedSegments < 0) {
+            throw new IllegalArgumentException("Quantidade de segmentos retidos inválida: " + retainedSegments + ".");
+        }
+        boolean archiving = archiveDirectory != null && !archiveDirectory.isBlank();
+        if (retainedSegments > 0 && !archiving) {
+            throw new IllegalArgumentException("app.credit-log.retained-segments exige app.credit-log.archive-directory: "
+                    + "segmentos do log de auditoria são arquivados, nunca apagados.");
+        }
+        this.directory = Path.of(directory);
+        this.segmentRecords = segmentRecords;
+        this.retainedSegments = retainedSegments;
+        this.archiveDirectory = archiving ? Path.of(archiveDirectory) : null;
+        this.enabled = enabled;
+        this.checkIndex = new ClientCheckIndex(clientIndexDepth);
+        if (enabled) {
+            try {
+                open();
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Não foi possível abrir o log de crédito em " + directory + ".", ex);
+            }
+        }
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            // O nome traz a sequência inicial com zeros à esquerda, então a ordem alfabética é a do log
+            files = listing.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).sorted().toList();
+        }
+
+        for (int i = 0; i < files.size(); i++) {
+            Path path = files.get(i);
+            String name = path.getFileName().toString();
+            long base = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+            int capacity = (int) (Files.size(path) / RECORD_BYTES);
+            Segment segment = new Segment(path, base, capacity);
+            if (i == files.size() - 1) {
+                segment.buffer = map(path, FileChannel.MapMode.READ_WRITE, capacity);
+                segment.written = committedRecords(segment.buffer, capacity);
+                segment.forced = segment.written;
+            } else {
+                segment.written = capacity;
+                segment.forced = capacity;
+            }
+            segments.add(segment);
+        }
+
+        if (segments.isEmpty()) {
+            segments.add(createSegment(0));
+        }
+        current = segments.get(segments.size() - 1);
+        archiveExpiredSegments();
+        for (int i = segments.size() - 1; i >= 0 && lastTimestamp == Long.MIN_VALUE; i--) {
+            Segment segment = segments.get(i);
+            if (segment.written > 0) {
+                lastTimestamp = readable(segment).getLong((segment.written - 1) * RECORD_BYTES);
+            }
+        }
+        long start = System.nanoTime();
+        for (Segment segment : segments) {
+            ByteBuffer buffer = segment.written == 0 ? null : readable(segment);
+            for (int i = 0; buffer != null && i < segment.written; i++) {
+                checkIndex.add(buffer.getLong(i * RECORD_BYTES + 8), segment.base + i);
+            }
+        }
+        logger.info("Log de crédito aberto em {} com {} registros em {} segmentos (índice por cliente em {} ms).",
+                directory, count(), segments.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public long append(long clientId, VehicleModel model, CreditDecision decision) {
+        CreditCheckStatus status = decision.isApproved() ? CreditCheckStatus.ELIGIBLE : CreditCheckStatus.NOT_ELIGIBLE;
+        return append(clientId, model, status, decision.code());
+    }
+
+    @Override
+    public long appendNotFound(long clientId, VehicleModel model) {
+        return append(clientId, model, CreditCheckStatus.NOT_FOUND, 0);
+    }
+
+    private long append(long clientId, VehicleModel model, CreditCheckStatus status, int decisionCode) {
+        if (!enabled) {
+            return -1;
+        }
+        appendLock.lock();
+        try {
+            Segment segment = current;
+            if (segment.written == segment.capacity) {
+                segment = rollover(segment);
+            }
+            int index = segment.written;
+            int offset = index * RECORD_BYTES;
+            MappedByteBuffer buffer = segment.buffer;
+            // scan() para no primeiro timestamp depois do intervalo, então eles nunca podem diminuir
+            long timestamp = Math.max(lastTimestamp, System.currentTimeMillis());
+            lastTimestamp = timestamp;
+            buffer.putLong(offset, timestamp);
+            buffer.putLong(offset + 8, clientId);
+            buffer.put(offset + 16, (byte) model.ordinal());
+            buffer.put(offset + 17, (byte) status.ordinal());
+            buffer.put(offset + 18, (byte) decisionCode);
+            buffer.putInt(offset + 20, COMMITTED);
+            // Publicado depois do marcador: quem lê até written só vê registros completos
+            segment.written = index + 1;
+            long sequence = segment.base + index;
+            checkIndex.add(clientId, sequence);
+            return sequence;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private Segment rollover(Segment full) {
+        Segment next;
+        try {
+            next = createSegment(full.base + full.capacity);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Não foi possível criar um novo segmento do log de crédito.", ex);
+        }
+        segments.add(next);
+        current = next;
+        force(full);
+        // Segmentos fechados são mapeados de novo, só para leitura, na primeira vez que alguém os percorre
+        full.buffer = null;
+        archiveExpiredSegments();
+        return next;
+    }
+
+    // Move os segmentos mais antigos além de retainedSegments para o arquivo morto. Quem já está percorrendo
+    // uma cópia da lista segue com o mapeamento que tem; um segmento movido antes de ser mapeado é pulado.
+    private void archiveExpiredSegments() {
+        while (retainedSegments > 0 && segments.size() > retainedSegments) {
+            Segment expired = segments.get(0);
+            try {
+                Files.createDirectories(archiveDirectory);
+                // Sem REPLACE_EXISTING: um segmento de mesmo nome já arquivado nunca é sobrescrito
+                Files.move(expired.path, archiveDirectory.resolve(expired.path.getFileName()));
+            } catch (IOException ex) {
+                // Continua no log e a próxima troca de segmento tenta de novo
+                logger.error("Não foi possível arquivar o segmento {} do log de crédito em {}: {}",
+                        expired.path, archiveDirectory, ex.getMessage(), ex);
+                return;
+            }
+            segments.remove(0);
+            expired.readOnly = null;
+            logger.info("Segmento {} do log de crédito arquivado em {}.", expired.path.getFileName(), archiveDirectory);
+        }
+    }
+
+    // Group commit: um único force() cobre todos os registros gravados desde o anterior
+    @Scheduled(fixedDelayString = "${app.credit-log.force-interval:PT0.01S}")
+    public void sync() {
+        if (enabled) {
+            force(current);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        sync();
+    }
+
+    private void force(Segment segment) {
+        forceLock.lock();
+        try {
+            MappedByteBuffer buffer = segment.buffer;
+            int written = segment.written;
+            if (buffer != null && written > segment.forced) {
+                buffer.force(segment.forced * RECORD_BYTES, (written - segment.forced) * RECORD_BYTES);
+                segment.forced = written;
+            }
+        } finally {
+            forceLock.unlock();
+        }
+    }
+
+    @Override
+    public void scan(long fromTimestamp, long toTimestamp, Consumer<CreditCheckRecord> action) {
+        for (Segment segment : segments) {
+            int count = segment.written;
+            if (count == 0) {
+                continue;
+            }
+            ByteBuffer buffer = readable(segment);
+            if (buffer == null) {
+                continue;
+            }
+            // Os timestamps são tomados dentro da trava de gravação e nunca diminuem ao longo do log
+            if (buffer.getLong((count - 1) * RECORD_BYTES) < fromTimestamp) {
+                continue;
+            }
+            for (int i = 0; i < count; i++) {
+                int offset = i * RECORD_BYTES;
+                if (buffer.getInt(offset + 20) != COMMITTED) {
+                    break;
+                }
+                long timestamp = buffer.getLong(offset);
+                if (timestamp > toTimestamp) {
+                    return;
+                }
+                if (timestamp >= fromTimestamp) {
+                    action.accept(decode(segment.base + i, buffer, offset));
+                }
+            }
+        }
+    }
+
+    @Override
+    public List<CreditCheckRecord> findLatestByClientId(long clientId, int limit) {
+        if (limit <= 0 || !enabled) {
+            return List.of();
+        }
+        long[] indexed;
+        long total;
+        appendLock.lock();
+        try {
+            indexed = checkIndex.latest(clientId, limit);
+            total = checkIndex.total(clientId);
+        } finally {
+            appendLock.unlock();
+        }
+
+        List<CreditCheckRecord> latest = new ArrayList<>(Math.min(limit, 64));
+        // Cópia da lista: a retenção pode remover segmentos do início durante a leitura
+        Segment[] snapshot = segments.toArray(new Segment[0]);
+        for (long sequence : indexed) {
+            Segment segment = segmentOf(snapshot, sequence);
+            ByteBuffer buffer = segment == null ? null : readable(segment);
+            if (buffer == null) {
+                // Arquivado: os registros anteriores do cliente também saíram do log
+                return latest;
+            }
+            latest.add(decode(sequence, buffer, (int) (sequence - segment.base) * RECORD_BYTES));
+        }
+        if (latest.size() < limit && latest.size() < total) {
+            scanBackward(snapshot, clientId, indexed[indexed.length - 1] - 1, limit, total, latest);
+        }
+        return latest;
+    }
+
+    // Além da profundidade do índice: do registro anterior ao mais antigo indexado para trás, até completar
+    // limit ou encontrar todas as verificações do cliente
+    private void scanBackward(Segment[] snapshot, long clientId, long fromSequence, int limit, long total,
+                              List<CreditCheckRecord> latest) {
+        for (int n = snapshot.length - 1; n >= 0; n--) {
+            Segment segment = snapshot[n];
+            if (segment.base > fromSequence) {
+                continue;
+            }
+            ByteBuffer buffer = readable(segment);
+            if (buffer == null) {
+                return;
+            }
+            int last = (int) Math.min(segment.written - 1L, fromSequence - segment.base);
+            for (int i = last; i >= 0; i--) {
+                int offset = i * RECORD_BYTES;
+                // Só os registros do cliente viram objeto
+                if (buffer.getLong(offset + 8) == clientId) {
+                    latest.add(decode(segment.base + i, buffer, offset));
+                    if (latest.size() == limit || latest.size() == total) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    // Segmento da cópia que contém a sequência, ou null se ela já saiu do log; as bases são crescentes
+    private static Segment segmentOf(Segment[] snapshot, long sequence) {
+        int low = 0;
+        int high = snapshot.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            Segment segment = snapshot[middle];
+            if (sequence < segment.base) {
+                high = middle - 1;
+            } else if (sequence >= segment.base + segment.capacity) {
+                low = middle + 1;
+            } else {
+                return segment;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public long count() {
+        long count = 0;
+        for (Segment segment : segments) {
+            count += segment.written;
+        }
+        return count;
+    }
+
+    private static CreditCheckRecord decode(long sequence, ByteBuffer buffer, int offset) {
+        CreditDecision decision = CreditDecision.fromCode(buffer.get(offset + 18) & 0xFF);
+        return new CreditCheckRecord(sequence, buffer.getLong(offset), buffer.getLong(offset + 8),
+                MODELS[buffer.get(offset + 16)], STATUSES[buffer.get(offset + 17)],
+                decision.modality(), decision.rejectionReason());
+    }
+
+    // Nulo se o segmento foi arquivado pela retenção antes de ser mapeado
+    private ByteBuffer readable(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        if (buffer != null) {
+            return buffer;
+        }
+        buffer = segment.readOnly;
+        if (buffer != null) {
+            return buffer;
+        }
+        try {
+            // Corrida benigna: dois leitores podem mapear o mesmo segmento, e um dos mapeamentos é descartado
+            buffer = map(segment.path, FileChannel.MapMode.READ_ONLY, segment.capacity);
+            segment.readOnly = buffer;
+            return buffer;
+        } catch (NoSuchFileException ex) {
+            return null;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Não foi possível ler o segmento " + segment.path + ".", ex);
+        }
+    }
+
+    private Segment createSegment(long base) throws IOException {
+        Path path = directory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, base, SEGMENT_SUFFIX));
+        Segment segment = new Segment(path, base, segmentRecords);
+        segment.buffer = map(path, FileChannel.MapMode.READ_WRITE, segmentRecords);
+        return segment;
+    }
+
+    private static MappedByteBuffer map(Path path, FileChannel.MapMode mode, int records) throws IOException {
+        StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+                ? new StandardOpenOption[]{StandardOpenOption.READ}
+                : new StandardOpenOption[]{StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE};
+        // O mapeamento continua válido depois que o canal é fechado
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            return channel.map(mode, 0, (long) records * RECORD_BYTES);
+        }
+    }
+
+    private static int committedRecords(ByteBuffer buffer, int capacity) {
+        int count = 0;
+        while (count < capacity && buffer.getInt(count * RECORD_BYTES + 20) == COMMITTED) {
+            count++;
+        }
+        return count;
+    }
+
+    private static final class Segment {
+        final Path path;
+        final long base;
+        final int capacity;
+        // Nulo depois que o segmento é fechado
+        volatile MappedByteBuffer buffer;
+        // Mapeamento só de leitura de um segmento fechado, criado na primeira leitura
+        volatile MappedByteBuffer readOnly;
+        // Gravado só com appendLock; lido sem trava por quem percorre o log
+        volatile int written;
+        // Protegido por forceLock
+        int forced;
+
+        Segment(Path path, long base, int capacity) {
+            this.path = path;
+            this.base = base;
+            this.capacity = capacity;
+        }
+    }
+}
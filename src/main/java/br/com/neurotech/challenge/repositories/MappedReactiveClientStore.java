@@ -0,0 +1,23 @@
+package br.com.neurotech.challenge.repositories;
+
+import br.com.neurotech.challenge.entity.ClientSnapshot;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+// Busca reativa nos nós com mapped: uma leitura de memória mapeada, sem I/O de rede, feita na thread que assina
+@Repository
+@ConditionalOnProperty(name = "app.client-store.backend", havingValue = "mapped")
+public class MappedReactiveClientStore implements ReactiveClientStore {
+
+    private final MappedClientStore clientStore;
+
+    public MappedReactiveClientStore(MappedClientStore clientStore) {
+        this.clientStore = clientStore;
+    }
+
+    @Override
+    public Mono<ClientSnapshot> findById(long id) {
+        return Mono.fromSupplier(() -> clientStore.findById(id));
+    }
+}
@@ -0,0 +1,105 @@
+package br.com.neurotech.challenge.repositories;
+
+import br.com.neurotech.challenge.entity.VehicleModel;
+import br.com.neurotech.challenge.rules.AgeIncomeRange;
+import br.com.neurotech.challenge.rules.CompiledCreditRules;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Agregação da carteira feita pelo banco: as faixas das regras viram expressões CASE e o resultado volta
+// já agrupado por (regra de modalidade, faixa etária, bucket de renda, modelos aprovados), poucas linhas
+// independentemente do tamanho da tabela. Os limites entram como parâmetros, nunca concatenados no SQL.
+@Repository
+public class PortfolioStatsRepository {
+
+    private static final VehicleModel[] MODELS = VehicleModel.values();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PortfolioStatsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<PortfolioStatsRow> aggregate(CompiledCreditRules rules, int[] ageBreakpoints,
+                                             double bucketWidth, int buckets) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT modality_rule, age_band, income_bucket");
+        for (int v = 0; v < MODELS.length; v++) {
+            sql.append(", vehicle_").append(v);
+        }
+        sql.append(", COUNT(*) FROM (SELECT ");
+
+        // Primeira regra que casa, como em CompiledCreditRules.evaluate
+        sql.append("CASE");
+        for (int i = 0; i < rules.modalityRuleCount(); i++) {
+            sql.append(" WHEN ");
+            appendRange(sql, params, rules.modalityRuleRange(i));
+            sql.append(" THEN ").append(i);
+        }
+        sql.append(" ELSE -1 END AS modality_rule, ");
+
+        sql.append("CASE");
+        for (int i = 0; i < ageBreakpoints.length; i++) {
+            sql.append(" WHEN age < ? THEN ").append(i);
+            params.add(ageBreakpoints[i]);
+        }
+        sql.append(" ELSE ").append(ageBreakpoints.length).append(" END AS age_band, ");
+
+        sql.append("LEAST(GREATEST(FLOOR(income / ?), 0), ?) AS income_bucket");
+        params.add(bucketWidth);
+        params.add(buckets - 1);
+
+        for (int v = 0; v < MODELS.length; v++) {
+            sql.append(", CASE WHEN ");
+            appendRange(sql, params, rules.vehicleRange(MODELS[v]));
+            sql.append(" THEN 1 ELSE 0 END AS vehicle_").append(v);
+        }
+        // Mesmo critério do snapshot colunar (ClientColumns.isScannable)
+        sql.append(" FROM neurotech_client WHERE age >= 0 AND income IS NOT NULL) t ");
+        sql.append("GROUP BY modality_rule, age_band, income_bucket");
+        for (int v = 0; v < MODELS.length; v++) {
+            sql.append(", vehicle_").append(v);
+        }
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            int rule = rs.getInt(1);
+            int approvedModels = 0;
+            for (int v = 0; v < MODELS.length; v++) {
+                if (rs.getInt(4 + v) == 1) {
+                    approvedModels |= 1 << v;
+                }
+            }
+            return new PortfolioStatsRow(rule < 0 ? null : rules.modalityRuleAt(rule),
+                    rs.getInt(2), rs.getInt(3), approvedModels, rs.getLong(4 + MODELS.length));
+        }, params.toArray());
+    }
+
+    // Limites abertos (MIN_VALUE/MAX_VALUE) não geram condição; exclusivos já chegam convertidos em AgeIncomeRange
+    private static void appendRange(StringBuilder sql, List<Object> params, AgeIncomeRange range) {
+        if (range.isEmpty()) {
+            sql.append("1 = 0");
+            return;
+        }
+        List<String> conditions = new ArrayList<>(4);
+        if (range.minAge() != Integer.MIN_VALUE) {
+            conditions.add("age >= ?");
+            params.add(range.minAge());
+        }
+        if (range.maxAge() != Integer.MAX_VALUE) {
+            conditions.add("age <= ?");
+            params.add(range.maxAge());
+        }
+        if (range.minIncome() != -Double.MAX_VALUE) {
+            conditions.add("income >= ?");
+            params.add(range.minIncome());
+        }
+        if (range.maxIncome() != Double.MAX_VALUE) {
+            conditions.add("income <= ?");
+            params.add(range.maxIncome());
+        }
+        sql.append(conditions.isEmpty() ? "1 = 1" : String.join(" AND ", conditions));
+    }
+}
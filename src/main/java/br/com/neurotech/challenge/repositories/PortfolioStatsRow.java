@@ -0,0 +1,8 @@
+package br.com.neurotech.challenge.repositories;
+
+import br.com.neurotech.challenge.entity.CreditModality;
+
+// Um grupo da agregação da carteira. modality nula = nenhuma modalidade; approvedModels tem o bit
+// VehicleModel.ordinal() ligado para cada modelo cuja faixa contém o grupo.
+public record PortfolioStatsRow(CreditModality modality, int ageBand, int incomeBucket, int approvedModels, long clients) {
+}
@@ -0,0 +1,60 @@
+package br.com.neurotech.challenge.repositories;
+
+import br.com.neurotech.challenge.entity.ClientSnapshot;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+// Leitura reativa de clientes via R2DBC, na mesma tabela gravada pelo JPA. O r2dbc-h2 executa a consulta de
+// forma síncrona na thread que assina o Mono.
+// O pool não é registrado como bean: um ConnectionFactory no contexto desligaria o DataSource do JPA.
+@Repository
+@ConditionalOnProperty(name = "app.client-store.backend", havingValue = "jpa", matchIfMissing = true)
+public class ReactiveClientRepository implements ReactiveClientStore {
+
+    private static final String FIND_BY_ID =
+            "SELECT id, version, name, age, income FROM neurotech_client WHERE id = :id";
+
+    private final ConnectionPool pool;
+    private final DatabaseClient databaseClient;
+
+    public ReactiveClientRepository(@Value("${app.r2dbc.url:r2dbc:h2:mem:///testdb}") String url,
+                                    @Value("${app.r2dbc.username:sa}") String username,
+                                    @Value("${app.r2dbc.password:}") String password,
+                                    @Value("${app.r2dbc.pool.max-size:16}") int maxSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("neurotech-r2dbc")
+                .initialSize(0)
+                .maxSize(maxSize)
+                .build());
+        this.databaseClient = DatabaseClient.create(pool);
+    }
+
+    @Override
+    public Mono<ClientSnapshot> findById(long id) {
+        return databaseClient.sql(FIND_BY_ID)
+                .bind("id", id)
+                .map(row -> {
+                    Long version = row.get("version", Long.class);
+                    return new ClientSnapshot(row.get("id", Long.class), version == null ? 0L : version,
+                            row.get("name", String.class), row.get("age", Integer.class), row.get("income", Double.class));
+                })
+                .one();
+    }
+
+    @PreDestroy
+    public void close() {
+        pool.dispose();
+    }
+}
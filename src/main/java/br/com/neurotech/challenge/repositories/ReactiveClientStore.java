@@ -0,0 +1,12 @@
+package br.com.neurotech.challenge.repositories;
+
+import br.com.neurotech.challenge.entity.ClientSnapshot;
+import reactor.core.publisher.Mono;
+
+// Busca de clientes para a análise reativa, no mesmo backend do ClientStore (app.client-store.backend):
+// R2DBC sobre a tabela do JPA (ReactiveClientRepository) ou o arquivo mapeado (MappedReactiveClientStore).
+public interface ReactiveClientStore {
+
+    // Vazio quando o cliente não existe
+    Mono<ClientSnapshot> findById(long id);
+}
@@ -0,0 +1,36 @@
+package br.com.neurotech.challenge.rules;
+
+// Faixa fechada de idade e renda. Limites exclusivos já chegam aqui convertidos para o double vizinho.
+public record AgeIncomeRange(int minAge, int maxAge, double minIncome, double maxIncome) {
+
+	public static final AgeIncomeRange ALL = new AgeIncomeRange(Integer.MIN_VALUE, Integer.MAX_VALUE,
+			-Double.MAX_VALUE, Double.MAX_VALUE);
+
+	public static AgeIncomeRange of(CreditRuleDefinition.RangeDefinition definition) {
+		int minAge = definition.getMinAge() == null ? Integer.MIN_VALUE : definition.getMinAge();
+		int maxAge = definition.getMaxAge() == null ? Integer.MAX_VALUE : definition.getMaxAge();
+
+		double minIncome = -Double.MAX_VALUE;
+		if (definition.getMinIncome() != null) {
+			minIncome = definition.isMinIncomeExclusive() ? Math.nextUp(definition.getMinIncome()) : definition.getMinIncome();
+		}
+		double maxIncome = Double.MAX_VALUE;
+		if (definition.getMaxIncome() != null) {
+			maxIncome = definition.isMaxIncomeExclusive() ? Math.nextDown(definition.getMaxIncome()) : definition.getMaxIncome();
+		}
+		return new AgeIncomeRange(minAge, maxAge, minIncome, maxIncome);
+	}
+
+	public boolean contains(int age, double income) {
+		return age >= minAge && age <= maxAge && income >= minIncome && income <= maxIncome;
+	}
+
+	public AgeIncomeRange intersect(AgeIncomeRange other) {
+		return new AgeIncomeRange(Math.max(minAge, other.minAge), Math.min(maxAge, other.maxAge),
+				Math.max(minIncome, other.minIncome), Math.min(maxIncome, other.maxIncome));
+	}
+
+	public boolean isEmpty() {
+		return minAge > maxAge || minIncome > maxIncome;
+	}
+}
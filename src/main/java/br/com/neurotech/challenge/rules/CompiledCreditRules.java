@@ -0,0 +1,204 @@
+package br.com.neurotech.challenge.rules;
+
+import br.com.neurotech.challenge.entity.CreditDecision;
+import br.com.neurotech.challenge.entity.CreditModality;
+import br.com.neurotech.challenge.entity.CreditRejectionReason;
+import br.com.neurotech.challenge.entity.VehicleModel;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Regras de crédito compiladas em arrays planos e na tabela idade x renda usada nas decisões.
+// Imutável: uma recarga cria uma instância nova.
+public final class CompiledCreditRules {
+
+	private static final VehicleModel[] MODELS = VehicleModel.values();
+
+	private final long generation;
+
+	private final CreditModality[] modalities;
+	private final int[] modalityMinAge;
+	private final int[] modalityMaxAge;
+	private final double[] modalityMinIncome;
+	private final double[] modalityMaxIncome;
+
+	// Indexados por VehicleModel.ordinal()
+	private final int[] vehicleMinAge;
+	private final int[] vehicleMaxAge;
+	private final double[] vehicleMinIncome;
+	private final double[] vehicleMaxIncome;
+	private final CreditDecision[][] vehicleRejections;
+
+	private final CreditDecisionTable table;
+
+	private CompiledCreditRules(long generation, List<CreditRuleDefinition.ModalityRule> modalityRules,
+								AgeIncomeRange[] vehicleRanges) {
+		this.generation = generation;
+
+		int size = modalityRules.size();
+		AgeIncomeRange[] allRanges = new AgeIncomeRange[size + vehicleRanges.length];
+		this.modalities = new CreditModality[size];
+		this.modalityMinAge = new int[size];
+		this.modalityMaxAge = new int[size];
+		this.modalityMinIncome = new double[size];
+		this.modalityMaxIncome = new double[size];
+		for (int i = 0; i < size; i++) {
+			CreditRuleDefinition.ModalityRule rule = modalityRules.get(i);
+			AgeIncomeRange range = AgeIncomeRange.of(rule);
+			allRanges[i] = range;
+			modalities[i] = rule.getModality();
+			modalityMinAge[i] = range.minAge();
+			modalityMaxAge[i] = range.maxAge();
+			modalityMinIncome[i] = range.minIncome();
+			modalityMaxIncome[i] = range.maxIncome();
+		}
+
+		this.vehicleMinAge = new int[MODELS.length];
+		this.vehicleMaxAge = new int[MODELS.length];
+		this.vehicleMinIncome = new double[MODELS.length];
+		this.vehicleMaxIncome = new double[MODELS.length];
+		this.vehicleRejections = new CreditDecision[MODELS.length][];
+		for (VehicleModel model : MODELS) {
+			int v = model.ordinal();
+			allRanges[size + v] = vehicleRanges[v];
+			vehicleMinAge[v] = vehicleRanges[v].minAge();
+			vehicleMaxAge[v] = vehicleRanges[v].maxAge();
+			vehicleMinIncome[v] = vehicleRanges[v].minIncome();
+			vehicleMaxIncome[v] = vehicleRanges[v].maxIncome();
+
+			CreditModality[] all = CreditModality.values();
+			vehicleRejections[v] = new CreditDecision[all.length];
+			for (CreditModality modality : all) {
+				vehicleRejections[v][modality.ordinal()] =
+						CreditDecision.rejected(modality, CreditRejectionReason.forVehicle(model));
+			}
+		}
+
+		this.table = CreditDecisionTable.build(this, allRanges);
+	}
+
+	public static CompiledCreditRules compile(CreditRuleDefinition definition, long generation) {
+		if (definition.getModalities() == null || definition.getModalities().isEmpty()) {
+			throw new IllegalArgumentException("As regras devem definir ao menos uma modalidade de crédito.");
+		}
+		for (CreditRuleDefinition.ModalityRule rule : definition.getModalities()) {
+			if (rule.getModality() == null) {
+				throw new IllegalArgumentException("Regra de modalidade sem o campo 'modality'.");
+			}
+		}
+
+		AgeIncomeRange[] vehicleRanges = new AgeIncomeRange[MODELS.length];
+		if (definition.getVehicles() != null) {
+			for (CreditRuleDefinition.VehicleRule rule : definition.getVehicles()) {
+				if (rule.getModel() == null) {
+					throw new IllegalArgumentException("Regra de veículo sem o campo 'model'.");
+				}
+				if (vehicleRanges[rule.getModel().ordinal()] != null) {
+					throw new IllegalArgumentException("Regra duplicada para o veículo " + rule.getModel() + ".");
+				}
+				vehicleRanges[rule.getModel().ordinal()] = AgeIncomeRange.of(rule);
+			}
+		}
+		for (VehicleModel model : MODELS) {
+			if (vehicleRanges[model.ordinal()] == null) {
+				throw new IllegalArgumentException("Nenhuma regra definida para o veículo " + model + ".");
+			}
+		}
+
+		return new CompiledCreditRules(generation, definition.getModalities(), vehicleRanges);
+	}
+
+	public long generation() {
+		return generation;
+	}
+
+	public CreditDecision decide(int age, double income, VehicleModel model) {
+		return table.lookup(age, income, model);
+	}
+
+	// Avaliação direta das regras, faixa por faixa; usada para montar a tabela
+	CreditDecision evaluate(int age, double income, VehicleModel model) {
+		CreditModality modality = evaluateModality(age, income);
+		if (modality == null) {
+			return CreditDecision.rejected(null, CreditRejectionReason.NO_CREDIT_MODALITY);
+		}
+
+		int v = model.ordinal();
+		if (age < vehicleMinAge[v] || age > vehicleMaxAge[v]
+				|| income < vehicleMinIncome[v] || income > vehicleMaxIncome[v]) {
+			return vehicleRejections[v][modality.ordinal()];
+		}
+		return CreditDecision.approved(modality);
+	}
+
+	public CreditModality modalityOf(int age, double income) {
+		return table.lookup(age, income, MODELS[0]).modality();
+	}
+
+	private CreditModality evaluateModality(int age, double income) {
+		for (int i = 0; i < modalities.length; i++) {
+			if (age >= modalityMinAge[i] && age <= modalityMaxAge[i]
+					&& income >= modalityMinIncome[i] && income <= modalityMaxIncome[i]) {
+				return modalities[i];
+			}
+		}
+		return null;
+	}
+
+	// Regras de modalidade na ordem de prioridade, para quem precisa reproduzi-las fora da tabela (ex.: em SQL)
+	public int modalityRuleCount() {
+		return modalities.length;
+	}
+
+	public CreditModality modalityRuleAt(int index) {
+		return modalities[index];
+	}
+
+	public AgeIncomeRange modalityRuleRange(int index) {
+		return new AgeIncomeRange(modalityMinAge[index], modalityMaxAge[index], modalityMinIncome[index], modalityMaxIncome[index]);
+	}
+
+	// Limites de idade em que alguma regra muda (início de faixa e primeira idade depois do fim), em ordem
+	public int[] ageBreakpoints() {
+		TreeSet<Integer> points = new TreeSet<>();
+		for (int i = 0; i < modalities.length; i++) {
+			addAgeBreakpoints(points, modalityMinAge[i], modalityMaxAge[i]);
+		}
+		for (int v = 0; v < MODELS.length; v++) {
+			addAgeBreakpoints(points, vehicleMinAge[v], vehicleMaxAge[v]);
+		}
+		return points.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	private static void addAgeBreakpoints(Set<Integer> points, int minAge, int maxAge) {
+		if (minAge != Integer.MIN_VALUE) {
+			points.add(minAge);
+		}
+		if (maxAge != Integer.MAX_VALUE) {
+			points.add(maxAge + 1);
+		}
+	}
+
+	// Menor faixa que contém todas as regras da modalidade; vazia quando a modalidade não tem regra
+	public AgeIncomeRange modalityRange(CreditModality modality) {
+		int minAge = Integer.MAX_VALUE;
+		int maxAge = Integer.MIN_VALUE;
+		double minIncome = Double.MAX_VALUE;
+		double maxIncome = -Double.MAX_VALUE;
+		for (int i = 0; i < modalities.length; i++) {
+			if (modalities[i] == modality) {
+				minAge = Math.min(minAge, modalityMinAge[i]);
+				maxAge = Math.max(maxAge, modalityMaxAge[i]);
+				minIncome = Math.min(minIncome, modalityMinIncome[i]);
+				maxIncome = Math.max(maxIncome, modalityMaxIncome[i]);
+			}
+		}
+		return new AgeIncomeRange(minAge, maxAge, minIncome, maxIncome);
+	}
+
+	public AgeIncomeRange vehicleRange(VehicleModel model) {
+		int v = model.ordinal();
+		return new AgeIncomeRange(vehicleMinAge[v], vehicleMaxAge[v], vehicleMinIncome[v], vehicleMaxIncome[v]);
+	}
+}
@@ -0,0 +1,94 @@
+package br.com.neurotech.challenge.rules;
+
+import br.com.neurotech.challenge.entity.CreditDecision;
+import br.com.neurotech.challenge.entity.VehicleModel;
+
+import java.util.Arrays;
+import java.util.TreeSet;
+
+// Tabela idade x renda pré-calculada: para cada idade, os pontos de renda onde a decisão muda
+// e o código da decisão de cada faixa para cada VehicleModel.
+final class CreditDecisionTable {
+
+	private static final VehicleModel[] MODELS = VehicleModel.values();
+
+	private final int minAge;
+	private final int maxAge;
+	private final double[][] breakpoints;
+	private final byte[][] codes;
+
+	private CreditDecisionTable(int minAge, int maxAge, double[][] breakpoints, byte[][] codes) {
+		this.minAge = minAge;
+		this.maxAge = maxAge;
+		this.breakpoints = breakpoints;
+		this.codes = codes;
+	}
+
+	static CreditDecisionTable build(CompiledCreditRules rules, AgeIncomeRange[] ranges) {
+		// Idades onde alguma regra começa ou deixa de valer; fora de [menor - 1, maior] nada muda
+		TreeSet<Integer> agePoints = new TreeSet<>();
+		for (AgeIncomeRange range : ranges) {
+			if (range.minAge() != Integer.MIN_VALUE) {
+				agePoints.add(range.minAge());
+			}
+			if (range.maxAge() != Integer.MAX_VALUE) {
+				agePoints.add(range.maxAge() + 1);
+			}
+		}
+		int minAge = agePoints.isEmpty() ? 0 : agePoints.first() - 1;
+		int maxAge = agePoints.isEmpty() ? 0 : agePoints.last();
+
+		int rows = maxAge - minAge + 1;
+		double[][] breakpoints = new double[rows][];
+		byte[][] codes = new byte[rows][];
+		for (int row = 0; row < rows; row++) {
+			int age = minAge + row;
+
+			// Cada faixa começa em um ponto de renda: income >= breakpoints[k - 1] e < breakpoints[k]
+			TreeSet<Double> incomePoints = new TreeSet<>();
+			for (AgeIncomeRange range : ranges) {
+				if (age < range.minAge() || age > range.maxAge()) {
+					continue;
+				}
+				if (range.minIncome() != -Double.MAX_VALUE) {
+					incomePoints.add(range.minIncome());
+				}
+				if (range.maxIncome() != Double.MAX_VALUE) {
+					incomePoints.add(Math.nextUp(range.maxIncome()));
+				}
+			}
+			double[] points = incomePoints.stream().mapToDouble(Double::doubleValue).toArray();
+
+			byte[] rowCodes = new byte[(points.length + 1) * MODELS.length];
+			for (int segment = 0; segment <= points.length; segment++) {
+				double income = segment == 0
+						? (points.length == 0 ? 0.0 : Math.nextDown(points[0]))
+						: points[segment - 1];
+				for (VehicleModel model : MODELS) {
+					rowCodes[segment * MODELS.length + model.ordinal()] = (byte) rules.evaluate(age, income, model).code();
+				}
+			}
+
+			breakpoints[row] = points;
+			codes[row] = rowCodes;
+		}
+		return new CreditDecisionTable(minAge, maxAge, breakpoints, codes);
+	}
+
+	CreditDecision lookup(int age, double income, VehicleModel model) {
+		int row = Math.min(Math.max(age, minAge), maxAge) - minAge;
+		double[] points = breakpoints[row];
+
+		// Poucos pontos por idade: a varredura linear é mais barata que uma busca binária
+		int segment = 0;
+		while (segment < points.length && income >= points[segment]) {
+			segment++;
+		}
+		return CreditDecision.fromCode(codes[row][segment * MODELS.length + model.ordinal()]);
+	}
+
+	@Override
+	public String toString() {
+		return "CreditDecisionTable{ages=[" + minAge + ", " + maxAge + "], breakpoints=" + Arrays.deepToString(breakpoints) + '}';
+	}
+}
@@ -0,0 +1,46 @@
+package br.com.neurotech.challenge.rules;
+
+import br.com.neurotech.challenge.entity.CreditModality;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Formato do arquivo de regras (credit-rules.json). Limites ausentes significam "sem limite".
+@Data
+@NoArgsConstructor
+public class CreditRuleDefinition {
+
+	// Avaliadas em ordem: vale a primeira modalidade cuja faixa contém o cliente
+	private List<ModalityRule> modalities = new ArrayList<>();
+
+	private List<VehicleRule> vehicles = new ArrayList<>();
+
+	@Data
+	@NoArgsConstructor
+	public static class RangeDefinition {
+		private Integer minAge;
+		private Integer maxAge;
+		private Double minIncome;
+		private Double maxIncome;
+		private boolean minIncomeExclusive;
+		private boolean maxIncomeExclusive;
+	}
+
+	@Data
+	@NoArgsConstructor
+	@EqualsAndHashCode(callSuper = true)
+	public static class ModalityRule extends RangeDefinition {
+		private CreditModality modality;
+	}
+
+	@Data
+	@NoArgsConstructor
+	@EqualsAndHashCode(callSuper = true)
+	public static class VehicleRule extends RangeDefinition {
+		private VehicleModel model;
+	}
+}
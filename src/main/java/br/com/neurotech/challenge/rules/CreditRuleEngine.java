@@ -0,0 +1,84 @@
+package br.com.neurotech.challenge.rules;
+
+import br.com.neurotech.challenge.entity.CreditDecision;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Component
+public class CreditRuleEngine {
+
+	private static final Logger logger = LoggerFactory.getLogger(CreditRuleEngine.class);
+
+	private final Resource resource;
+	private final ObjectMapper objectMapper;
+	private final AtomicReference<CompiledCreditRules> rules = new AtomicReference<>();
+	private volatile long lastModified;
+
+	public CreditRuleEngine(ResourceLoader resourceLoader, ObjectMapper objectMapper,
+							@Value("${app.credit-rules.location:classpath:credit-rules.json}") String location) {
+		this.resource = resourceLoader.getResource(location);
+		this.objectMapper = objectMapper;
+		this.lastModified = lastModifiedOf(resource);
+		// Na inicialização um arquivo inválido deve impedir a subida da aplicação
+		this.rules.set(load(1));
+		logger.info("Regras de crédito carregadas de {}.", location);
+	}
+
+	public CompiledCreditRules current() {
+		return rules.get();
+	}
+
+	public CreditDecision decide(int age, double income, VehicleModel model) {
+		return rules.get().decide(age, income, model);
+	}
+
+	// Troca atômica: requisições em andamento terminam com a versão que já leram
+	public synchronized void reload() {
+		CompiledCreditRules previous = rules.get();
+		CompiledCreditRules reloaded = load(previous.generation() + 1);
+		rules.set(reloaded);
+		logger.info("Regras de crédito recarregadas (geração {}).", reloaded.generation());
+	}
+
+	@Scheduled(fixedDelayString = "${app.credit-rules.reload-interval:PT30S}")
+	public void reloadIfModified() {
+		long modified = lastModifiedOf(resource);
+		if (modified == lastModified) {
+			return;
+		}
+		try {
+			reload();
+			lastModified = modified;
+		} catch (RuntimeException ex) {
+			logger.error("Erro ao recarregar regras de crédito, mantendo a versão atual: {}", ex.getMessage(), ex);
+		}
+	}
+
+	private CompiledCreditRules load(long generation) {
+		try (InputStream input = resource.getInputStream()) {
+			CreditRuleDefinition definition = objectMapper.readValue(input, CreditRuleDefinition.class);
+			return CompiledCreditRules.compile(definition, generation);
+		} catch (IOException ex) {
+			throw new IllegalStateException("Erro ao ler regras de crédito de " + resource.getDescription(), ex);
+		}
+	}
+
+	private static long lastModifiedOf(Resource resource) {
+		try {
+			return resource.lastModified();
+		} catch (IOException ex) {
+			return -1L;
+		}
+	}
+}
@@ -0,0 +1,242 @@
+package br.com.neurotech.challenge.service;
+
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.repositories.ClientRepository;
+import br.com.neurotech.challenge.snapshot.ClientColumnStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Group commit dos cadastros (opcional): as requisições entram em uma fila limitada e uma única thread
+// grava o que chegou em uma transação só, a cada max-batch clientes ou max-delay depois do primeiro.
+// Cada chamador recebe o cliente com o ID gerado quando o lote dele é confirmado. Fila cheia = 503.
+// Se o lote falha, os clientes dele são gravados um a um, para que só o cadastro com problema receba o erro.
+// Nenhum chamador espera para sempre: create() desiste depois de submit-timeout (503), qualquer erro inesperado
+// na thread de gravação falha o lote inteiro e, a partir do stop(), novos cadastros são recusados.
+@Component
+public class ClientCreateWriter {
+
+	private static final Logger logger = LoggerFactory.getLogger(ClientCreateWriter.class);
+
+	private final ClientRepository repository;
+	private final TransactionTemplate transactionTemplate;
+	private final ClientColumnStore columnStore;
+	private final boolean enabled;
+	private final int maxBatch;
+	private final long maxDelayNanos;
+	private final long submitTimeoutNanos;
+	private final BlockingQueue<PendingCreate> queue;
+
+	private volatile boolean running;
+	private Thread writer;
+
+	public ClientCreateWriter(ClientRepository repository, PlatformTransactionManager transactionManager,
+							  ClientColumnStore columnStore,
+							  @Value("${app.client-create.group-commit.enabled:false}") boolean enabled,
+							  @Value("${app.client-create.group-commit.queue-capacity:10000}") int queueCapacity,
+							  @Value("${app.client-create.group-commit.max-batch:500}") int maxBatch,
+							  @Value("${app.client-create.group-commit.max-delay:PT0.0002S}") Duration maxDelay,
+							  @Value("${app.client-create.group-commit.submit-timeout:PT5S}") Duration submitTimeout) {
+		if (queueCapacity < 1 || maxBatch < 1) {
+			throw new IllegalArgumentException("Fila e lote do group commit devem ter ao menos um cliente.");
+		}
+		this.repository = repository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.columnStore = columnStore;
+		this.enabled = enabled;
+		this.maxBatch = maxBatch;
+		this.maxDelayNanos = maxDelay.toNanos();
+		this.submitTimeoutNanos = submitTimeout.toNanos();
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+	}
+
+	@PostConstruct
+	public void start() {
+		if (!enabled) {
+			return;
+		}
+		running = true;
+		// Thread de plataforma dedicada: fica quase sempre bloqueada na fila ou no banco
+		writer = Thread.ofPlatform().name("client-create-writer").daemon().start(this::drainLoop);
+		logger.info("Group commit de cadastros ativo: lotes de até {} clientes a cada {} µs.", maxBatch, maxDelayNanos / 1000);
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		if (writer == null) {
+			return;
+		}
+		running = false;
+		writer.interrupt();
+		writer.join(TimeUnit.SECONDS.toMillis(30));
+		// Chegaram depois que a thread saiu: ninguém mais vai gravá-los
+		failQueued();
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public int queued() {
+		return queue.size();
+	}
+
+	// Grava pelo group commit e espera a confirmação do lote por no máximo submit-timeout. Depois do prazo o
+	// chamador recebe 503, mas o cadastro continua na fila e ainda pode ser gravado.
+	public NeurotechClient create(NeurotechClient client) throws InterruptedException, ExecutionException {
+		try {
+			return submit(client).get(submitTimeoutNanos, TimeUnit.NANOSECONDS);
+		} catch (TimeoutException ex) {
+			throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+					"Cadastro não confirmado a tempo. Confira antes de tentar novamente.");
+		}
+	}
+
+	public CompletableFuture<NeurotechClient> submit(NeurotechClient client) {
+		PendingCreate pending = new PendingCreate(client, new CompletableFuture<>());
+		if (!running || !queue.offer(pending)) {
+			throw unavailable();
+		}
+		// Corrida com stop(): se a parada começou depois da checagem acima e ninguém retirou o pedido da fila,
+		// ele não seria mais gravado. Se já foi retirado, a thread de gravação ou o stop() o completa.
+		if (!running && queue.remove(pending)) {
+			throw unavailable();
+		}
+		return pending.result();
+	}
+
+	private void drainLoop() {
+		List<PendingCreate> batch = new ArrayList<>(maxBatch);
+		try {
+			while (running) {
+				try {
+					collect(batch);
+				} catch (InterruptedException ex) {
+					// Parada: o que já foi coletado ainda é gravado abaixo
+				}
+				if (!batch.isEmpty()) {
+					writeOrFail(batch);
+					batch.clear();
+				}
+			}
+			// Requisições aceitas antes da parada são gravadas
+			while (queue.drainTo(batch, maxBatch) > 0) {
+				writeOrFail(batch);
+				batch.clear();
+			}
+		} finally {
+			// Se a thread sair por qualquer motivo, ninguém fica esperando por ela
+			running = false;
+			failQueued();
+		}
+	}
+
+	private void writeOrFail(List<PendingCreate> batch) {
+		try {
+			write(batch);
+		} catch (Throwable ex) {
+			logger.error("Erro inesperado ao gravar lote de {} cadastros: {}", batch.size(), ex.getMessage(), ex);
+			// Quem já foi completado não muda; os demais recebem o erro
+			for (PendingCreate pending : batch) {
+				pending.result().completeExceptionally(ex);
+			}
+		}
+	}
+
+	private void failQueued() {
+		PendingCreate pending;
+		while ((pending = queue.poll()) != null) {
+			pending.result().completeExceptionally(unavailable());
+		}
+	}
+
+	// Bloqueia até o primeiro cliente e então junta o que chegar até o lote encher ou o prazo vencer
+	private void collect(List<PendingCreate> batch) throws InterruptedException {
+		batch.add(queue.take());
+		long deadline = System.nanoTime() + maxDelayNanos;
+		while (batch.size() < maxBatch) {
+			if (queue.drainTo(batch, maxBatch - batch.size()) > 0) {
+				continue;
+			}
+			long remaining = deadline - System.nanoTime();
+			if (remaining <= 0) {
+				return;
+			}
+			PendingCreate next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+			if (next == null) {
+				return;
+			}
+			batch.add(next);
+		}
+	}
+
+	void write(List<PendingCreate> batch) {
+		List<NeurotechClient> clients = new ArrayList<>(batch.size());
+		for (PendingCreate pending : batch) {
+			clients.add(pending.client());
+		}
+		try {
+			transactionTemplate.executeWithoutResult(status -> repository.saveAll(clients));
+		} catch (RuntimeException ex) {
+			logger.warn("Erro ao gravar lote de {} cadastros, gravando um a um: {}", batch.size(), ex.getMessage());
+			writeEach(batch);
+			return;
+		}
+		// Lote já confirmado: snapshot colunar e chamadores recebem os IDs gerados
+		updateSnapshot(() -> columnStore.onSaved(clients));
+		for (PendingCreate pending : batch) {
+			pending.result().complete(pending.client());
+		}
+	}
+
+	private void writeEach(List<PendingCreate> batch) {
+		for (PendingCreate pending : batch) {
+			NeurotechClient client = pending.client();
+			// O lote desfeito pode ter deixado ID e versão atribuídos nas entidades
+			client.setId(null);
+			client.setVersion(null);
+			try {
+				transactionTemplate.executeWithoutResult(status -> repository.save(client));
+			} catch (RuntimeException ex) {
+				pending.result().completeExceptionally(ex);
+				continue;
+			}
+			updateSnapshot(() -> columnStore.onSaved(client));
+			pending.result().complete(client);
+		}
+	}
+
+	// O cadastro já está no banco: uma falha no snapshot colunar não pode virar erro para o chamador
+	private void updateSnapshot(Runnable update) {
+		try {
+			update.run();
+		} catch (RuntimeException ex) {
+			logger.error("Erro ao atualizar o snapshot colunar após gravar cadastros: {}", ex.getMessage(), ex);
+		}
+	}
+
+	private static ResponseStatusException unavailable() {
+		return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+				"Fila de cadastro de clientes cheia. Tente novamente em instantes.");
+	}
+
+	record PendingCreate(NeurotechClient client, CompletableFuture<NeurotechClient> result) {
+	}
+}
@@ -0,0 +1,289 @@
+package br.com.neurotech.challenge.service;
+
+import br.com.neurotech.challenge.dtos.ClientImportErrorDto;
+import br.com.neurotech.challenge.dtos.ClientImportReportDto;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.repositories.ClientRepository;
+import br.com.neurotech.challenge.snapshot.ClientColumnStore;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Importação em massa: lê o corpo da requisição em streaming, valida cada linha
+// e grava em blocos, cada bloco na sua própria transação (inserts em batch JDBC).
+@Service
+public class ClientImportService {
+
+	private static final Logger logger = LoggerFactory.getLogger(ClientImportService.class);
+
+	private static final int MAX_NAME_LENGTH = 100;
+	private static final int MAX_REPORTED_ERRORS = 1000;
+
+	private final ClientRepository repository;
+	private final TransactionTemplate transactionTemplate;
+	private final ObjectMapper objectMapper;
+	private final ClientColumnStore columnStore;
+	private final int chunkSize;
+
+	public ClientImportService(ClientRepository repository, PlatformTransactionManager transactionManager,
+							   ObjectMapper objectMapper, ClientColumnStore columnStore,
+							   @Value("${app.client-import.chunk-size:500}") int chunkSize) {
+		this.repository = repository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.objectMapper = objectMapper;
+		this.columnStore = columnStore;
+		this.chunkSize = chunkSize;
+	}
+
+	public ClientImportReportDto importJson(InputStream input) {
+		logger.info("Iniciando importação de clientes em JSON.");
+		ImportRun run = new ImportRun();
+		long row = 0;
+		try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+			if (parser.nextToken() != JsonToken.START_ARRAY) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O corpo deve ser um array JSON de clientes.");
+			}
+			JsonToken token;
+			while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+				if (token == null) {
+					throw new IOException("Array JSON não foi fechado.");
+				}
+				row++;
+				if (token != JsonToken.START_OBJECT) {
+					parser.skipChildren();
+					run.reject(row, "Elemento não é um objeto JSON.");
+					continue;
+				}
+				JsonNode node = objectMapper.readTree(parser);
+				run.add(row, text(node, "name"), text(node, "age"), text(node, "income"));
+			}
+		} catch (IOException ex) {
+			// O que já foi confirmado continua gravado; o relatório indica onde a leitura parou
+			logger.error("Erro ao ler JSON de importação após o elemento {}: {}", row, ex.getMessage());
+			run.reject(row + 1, "JSON inválido: " + ex.getMessage());
+		}
+		return run.finish();
+	}
+
+	public ClientImportReportDto importCsv(InputStream input) {
+		logger.info("Iniciando importação de clientes em CSV.");
+		ImportRun run = new ImportRun();
+		long row = 0;
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+			int[] columns = {0, 1, 2}; // name, age, income
+			String line;
+			while ((line = reader.readLine()) != null) {
+				row++;
+				if (row == 1 && line.startsWith("\uFEFF")) {
+					line = line.substring(1);
+				}
+				if (line.isBlank()) {
+					continue;
+				}
+				List<String> fields = splitCsvLine(line);
+				if (row == 1 && isHeader(fields)) {
+					columns = headerColumns(fields);
+					continue;
+				}
+				run.add(row, field(fields, columns[0]), field(fields, columns[1]), field(fields, columns[2]));
+			}
+		} catch (IOException ex) {
+			logger.error("Erro ao ler CSV de importação após a linha {}: {}", row, ex.getMessage());
+			run.reject(row + 1, "Erro de leitura do CSV: " + ex.getMessage());
+		}
+		return run.finish();
+	}
+
+	private static String text(JsonNode node, String field) {
+		JsonNode value = node.get(field);
+		return value == null || value.isNull() || value.isContainerNode() ? null : value.asText();
+	}
+
+	private static String field(List<String> fields, int index) {
+		return index < fields.size() ? fields.get(index) : null;
+	}
+
+	private static boolean isHeader(List<String> fields) {
+		return fields.stream().anyMatch(field -> field.trim().equalsIgnoreCase("name"));
+	}
+
+	private static int[] headerColumns(List<String> header) {
+		int[] columns = {-1, -1, -1};
+		for (int i = 0; i < header.size(); i++) {
+			switch (header.get(i).trim().toLowerCase(Locale.ROOT)) {
+				case "name" -> columns[0] = i;
+				case "age" -> columns[1] = i;
+				case "income" -> columns[2] = i;
+				default -> { }
+			}
+		}
+		for (int column : columns) {
+			if (column < 0) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+						"O cabeçalho do CSV deve conter as colunas name, age e income.");
+			}
+		}
+		return columns;
+	}
+
+	// Separação de campos no formato RFC 4180 (aspas duplas, "" como escape); sem quebras de linha dentro de campos
+	static List<String> splitCsvLine(String line) {
+		List<String> fields = new ArrayList<>(3);
+		StringBuilder current = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					current.append('"');
+					i++;
+				} else if (c == '"') {
+					quoted = false;
+				} else {
+					current.append(c);
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(current.toString());
+				current.setLength(0);
+			} else {
+				current.append(c);
+			}
+		}
+		fields.add(current.toString());
+		return fields;
+	}
+
+	private static NeurotechClient toClient(String name, String ageText, String incomeText) {
+		if (name == null || name.isBlank()) {
+			throw new IllegalArgumentException("Nome é obrigatório.");
+		}
+		String trimmedName = name.trim();
+		if (trimmedName.length() > MAX_NAME_LENGTH) {
+			throw new IllegalArgumentException("Nome deve ter no máximo " + MAX_NAME_LENGTH + " caracteres.");
+		}
+
+		if (ageText == null || ageText.isBlank()) {
+			throw new IllegalArgumentException("Idade é obrigatória.");
+		}
+		int age;
+		try {
+			age = Integer.parseInt(ageText.trim());
+		} catch (NumberFormatException ex) {
+			throw new IllegalArgumentException("Idade inválida: " + ageText);
+		}
+		if (age < 0) {
+			throw new IllegalArgumentException("Idade não pode ser negativa.");
+		}
+
+		if (incomeText == null || incomeText.isBlank()) {
+			throw new IllegalArgumentException("Renda é obrigatória.");
+		}
+		double income;
+		try {
+			income = Double.parseDouble(incomeText.trim());
+		} catch (NumberFormatException ex) {
+			throw new IllegalArgumentException("Renda inválida: " + incomeText);
+		}
+		if (Double.isNaN(income) || Double.isInfinite(income)) {
+			throw new IllegalArgumentException("Renda inválida: " + incomeText);
+		}
+		if (income < 0) {
+			throw new IllegalArgumentException("Renda não pode ser negativa.");
+		}
+
+		return NeurotechClient.builder()
+				.name(trimmedName)
+				.age(age)
+				.income(income)
+				.build();
+	}
+
+	// Estado de uma importação: bloco pendente e relatório acumulado
+	private final class ImportRun {
+
+		private final List<NeurotechClient> chunk = new ArrayList<>(chunkSize);
+		private final long[] chunkRows = new long[chunkSize];
+		private final List<ClientImportErrorDto> errors = new ArrayList<>();
+		private long received;
+		private long imported;
+		private long failed;
+		private boolean errorsTruncated;
+
+		void add(long row, String name, String age, String income) {
+			received++;
+			NeurotechClient client;
+			try {
+				client = toClient(name, age, income);
+			} catch (IllegalArgumentException ex) {
+				recordError(row, ex.getMessage());
+				return;
+			}
+			chunkRows[chunk.size()] = row;
+			chunk.add(client);
+			if (chunk.size() >= chunkSize) {
+				flush();
+			}
+		}
+
+		void reject(long row, String message) {
+			received++;
+			recordError(row, message);
+		}
+
+		private void recordError(long row, String message) {
+			failed++;
+			if (errors.size() < MAX_REPORTED_ERRORS) {
+				errors.add(new ClientImportErrorDto(row, message));
+			} else {
+				errorsTruncated = true;
+			}
+		}
+
+		private void flush() {
+			if (chunk.isEmpty()) {
+				return;
+			}
+			try {
+				transactionTemplate.executeWithoutResult(status -> repository.saveAll(chunk));
+				imported += chunk.size();
+				// O bloco já foi confirmado: os IDs gerados vão direto para o snapshot colunar
+				columnStore.onSaved(chunk);
+			} catch (ResponseStatusException ex) {
+				// Recusa do nó inteiro (ex.: 503 de um banco somente leitura), não deste bloco: a importação para aqui
+				throw ex;
+			} catch (RuntimeException ex) {
+				logger.error("Erro ao gravar bloco de {} clientes: {}", chunk.size(), ex.getMessage(), ex);
+				for (int i = 0; i < chunk.size(); i++) {
+					recordError(chunkRows[i], "Erro ao gravar o bloco no banco de dados.");
+				}
+			}
+			chunk.clear();
+		}
+
+		ClientImportReportDto finish() {
+			flush();
+			logger.info("Importação concluída: {} recebidos, {} importados, {} com erro.", received, imported, failed);
+			return new ClientImportReportDto(received, imported, failed, errors, errorsTruncated);
+		}
+	}
+}
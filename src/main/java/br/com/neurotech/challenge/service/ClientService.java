@@ -1,10 +1,18 @@
 package br.com.neurotech.challenge.service;
 
-import br.com.neurotech.challenge.controllers.NeurotechClientController;
+import br.com.neurotech.challenge.cache.ClientCache;
 import br.com.neurotech.challenge.converters.GenericConverter;
+import br.com.neurotech.challenge.dtos.ClientPageDto;
+import br.com.neurotech.challenge.dtos.LeanClientDto;
 import br.com.neurotech.challenge.dtos.NeurotechClientDto;
 import br.com.neurotech.challenge.exceptions.ClientNotFoundException;
 import br.com.neurotech.challenge.repositories.ClientRepository;
+import br.com.neurotech.challenge.repositories.ClientRow;
+import br.com.neurotech.challenge.repositories.ClientStore;
+import br.com.neurotech.challenge.snapshot.ClientColumnStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,111 +21,295 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import br.com.neurotech.challenge.entity.ClientSnapshot;
 import br.com.neurotech.challenge.entity.NeurotechClient;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
-
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 
 @Service
 public class ClientService {
 
 	private static final Logger logger = LoggerFactory.getLogger(ClientService.class);
 
+	private static final int MAX_PAGE_SIZE = 1000;
+
 	private final ClientRepository repository;
+	private final ClientStore clientStore;
 	private final GenericConverter<NeurotechClientDto, NeurotechClient> converter;
+	private final ClientCache clientCache;
+	private final ClientColumnStore columnStore;
+	private final ClientCreateWriter createWriter;
 
-	public ClientService(ClientRepository repository, GenericConverter<NeurotechClientDto, NeurotechClient> converter) {
+	private final Timer findAllTimer;
+	private final Timer findPageTimer;
+	private final Timer streamAllTimer;
+	private final Timer findByIdTimer;
+	private final Timer createTimer;
+	private final Timer updateTimer;
+	private final Timer patchTimer;
+	private final Timer deleteTimer;
+
+	public ClientService(ClientRepository repository, ClientStore clientStore,
+						 GenericConverter<NeurotechClientDto, NeurotechClient> converter,
+						 ClientCache clientCache, ClientColumnStore columnStore, ClientCreateWriter createWriter,
+						 MeterRegistry meterRegistry) {
 		this.repository = repository;
+		this.clientStore = clientStore;
 		this.converter = converter;
+		this.clientCache = clientCache;
+		this.columnStore = columnStore;
+		this.createWriter = createWriter;
+		this.findAllTimer = operationTimer(meterRegistry, "findAll");
+		this.findPageTimer = operationTimer(meterRegistry, "findPage");
+		this.streamAllTimer = operationTimer(meterRegistry, "streamAll");
+		this.findByIdTimer = operationTimer(meterRegistry, "findById");
+		this.createTimer = operationTimer(meterRegistry, "create");
+		this.updateTimer = operationTimer(meterRegistry, "update");
+		this.patchTimer = operationTimer(meterRegistry, "patch");
+		this.deleteTimer = operationTimer(meterRegistry, "delete");
+		Gauge.builder("client.create.queue", createWriter, ClientCreateWriter::queued)
+				.description("Cadastros aguardando o próximo lote do group commit")
+				.register(meterRegistry);
+	}
+
+	// A latência de cada chamada ao ClientRepository vem da métrica spring.data.repository.invocations
+	private static Timer operationTimer(MeterRegistry registry, String operation) {
+		return Timer.builder("client.operation")
+				.description("Tempo das operações de cadastro de clientes")
+				.tag("operation", operation)
+				.publishPercentileHistogram()
+				.register(registry);
 	}
 
 	public List<NeurotechClientDto> findAll() {
+		Timer.Sample sample = Timer.start();
 		try {
 			logger.info("Iniciando a busca de todos os clientes.");
-			List<NeurotechClient> clients = repository.findAll();
+			List<NeurotechClientDto> clients = new ArrayList<>();
+			clientStore.forEach(row -> clients.add(toDto(row)));
 			logger.info("Clientes encontrados: {}", clients.size());
-			return clients.stream()
-					.map(converter::convertToDto)
-					.collect(Collectors.toList());
+			return clients;
 		} catch (Exception ex) {
 			logger.error("Erro ao buscar clientes: {}", ex.getMessage(), ex);
 			throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao buscar clientes no banco de dados", ex);
+		} finally {
+			sample.stop(findAllTimer);
+		}
+	}
+
+	// Variante enxuta: linha do ClientStore direto para record, sem passar pelo DTO com links
+	public List<LeanClientDto> findAllLean() {
+		Timer.Sample sample = Timer.start();
+		try {
+			logger.info("Iniciando a busca de todos os clientes (representação enxuta).");
+			List<LeanClientDto> result = new ArrayList<>();
+			clientStore.forEach(row -> result.add(new LeanClientDto(row.id(), row.name(), age(row.age()), income(row.income()))));
+			return result;
+		} catch (Exception ex) {
+			logger.error("Erro ao buscar clientes: {}", ex.getMessage(), ex);
+			throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao buscar clientes no banco de dados", ex);
+		} finally {
+			sample.stop(findAllTimer);
+		}
+	}
+
+	public ClientPageDto findPage(Long after, int limit) {
+		Timer.Sample sample = Timer.start();
+		try {
+			int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+			long cursor = after == null ? Long.MIN_VALUE : after;
+			logger.info("Buscando página de clientes após o ID {} com limite {}.", after, pageSize);
+
+			// Lê um registro a mais só para saber se existe próxima página
+			List<NeurotechClientDto> content = new ArrayList<>(pageSize + 1);
+			clientStore.forEachAfter(cursor, pageSize + 1, row -> content.add(toDto(row)));
+			boolean hasNext = content.size() > pageSize;
+			if (hasNext) {
+				content.remove(pageSize);
+			}
+			Long nextCursor = hasNext ? content.get(content.size() - 1).getKey() : null;
+			return new ClientPageDto(content, nextCursor);
+		} catch (Exception ex) {
+			logger.error("Erro ao buscar página de clientes: {}", ex.getMessage(), ex);
+			throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao buscar clientes no banco de dados", ex);
+		} finally {
+			sample.stop(findPageTimer);
+		}
+	}
+
+	public void streamAll(Consumer<NeurotechClientDto> action) {
+		logger.info("Iniciando o streaming de todos os clientes.");
+		Timer.Sample sample = Timer.start();
+		try {
+			clientStore.forEach(row -> action.accept(toDto(row)));
+		} finally {
+			sample.stop(streamAllTimer);
 		}
 	}
 
 	public NeurotechClientDto findById(Long id) {
+		Timer.Sample sample = Timer.start();
 		try {
 			logger.info("Buscando cliente com ID: {}", id);
-			NeurotechClient client = repository.findById(id)
+			ClientSnapshot client = clientCache.get(id)
 					.orElseThrow(() -> new ClientNotFoundException("Cliente com ID " + id + " não encontrado."));
-			NeurotechClientDto dto = converter.convertToDto(client);
+			NeurotechClientDto dto = new NeurotechClientDto(client.id(), client.name(), client.age(), client.income());
 			logger.info("Cliente com ID {} encontrado.", id);
 			return dto;
 		} catch (Exception ex) {
 			logger.error("Erro ao buscar cliente por ID {}: {}", id, ex.getMessage(), ex);
 			throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao buscar cliente por ID", ex);
+		} finally {
+			sample.stop(findByIdTimer);
 		}
 	}
 
-	@Transactional
+	public LeanClientDto findByIdLean(Long id) {
+		Timer.Sample sample = Timer.start();
+		try {
+			return LeanClientDto.of(clientCache.get(id)
+					.orElseThrow(() -> new ClientNotFoundException("Cliente com ID " + id + " não encontrado.")));
+		} catch (Exception ex) {
+			logger.error("Erro ao buscar cliente por ID {}: {}", id, ex.getMessage(), ex);
+			throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao buscar cliente por ID", ex);
+		} finally {
+			sample.stop(findByIdTimer);
+		}
+	}
+
+	// Sem @Transactional: no modo direto o save já abre a própria transação e, com group commit, a requisição
+	// não pode segurar uma conexão enquanto espera o lote ser confirmado
 	public NeurotechClientDto create(@Valid NeurotechClientDto clientDto) {
+		Timer.Sample sample = Timer.start();
 		try {
 			logger.info("Criando um novo cliente.");
 			NeurotechClient client = converter.convertToModel(clientDto);
-			NeurotechClient savedClient = repository.save(client);
+			NeurotechClient savedClient;
+			if (createWriter.isEnabled()) {
+				savedClient = createWriter.create(client);
+			} else {
+				savedClient = repository.save(client);
+				columnStore.onSaved(savedClient);
+			}
 			NeurotechClientDto dto = converter.convertToDto(savedClient);
 			logger.info("Cliente criado com sucesso: {}", savedClient.getId());
 			return dto;
+		} catch (ResponseStatusException ex) {
+			// Fila do group commit cheia ou lote não confirmado a tempo: 503
+			throw ex;
 		} catch (Exception ex) {
-			logger.error("Erro ao salvar cliente: {}", ex.getMessage(), ex);
-			throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao salvar cliente no banco de dados", ex);
+			if (ex instanceof InterruptedException) {
+				Thread.currentThread().interrupt();
+			}
+			Throwable cause = ex instanceof ExecutionException && ex.getCause() != null ? ex.getCause() : ex;
+			if (cause instanceof ResponseStatusException rejected) {
+				// Lote descartado pelo writer (fila drenada no desligamento): mantém o 503 original
+				throw rejected;
+			}
+			logger.error("Erro ao salvar cliente: {}", cause.getMessage(), cause);
+			throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao salvar cliente no banco de dados", cause);
+		} finally {
+			sample.stop(createTimer);
 		}
 	}
 
 	@Transactional
 	public NeurotechClientDto update(Long id, @Valid NeurotechClientDto clientDto) {
+		Timer.Sample sample = Timer.start();
 		try {
 			logger.info("Atualizando cliente com ID: {}", id);
 			NeurotechClient client = converter.convertToModel(clientDto);
 
-			NeurotechClient existingClient = repository.findById(id)
-					.orElseThrow(() -> new ClientNotFoundException("Cliente com ID " + id + " não encontrado."));
-
-			existingClient.setName(client.getName());
-			existingClient.setAge(client.getAge());
-			existingClient.setIncome(client.getIncome());
+			// Um único UPDATE; zero linhas afetadas significa que o cliente não existe
+			int updated = repository.replaceById(id, client.getName(), client.getAge(), client.getIncome());
+			if (updated == 0) {
+				throw new ClientNotFoundException("Cliente com ID " + id + " não encontrado.");
+			}
+			clientCache.invalidate(id);
+			// Só o snapshot colunar precisa da versão gravada; sem ele a atualização fica em um único comando
+			if (columnStore.isLoaded()) {
+				columnStore.onReplaced(id, repository.findVersionById(id), client.getName(), client.getAge(), client.getIncome());
+			}
 
-			NeurotechClient updatedClient = repository.save(existingClient);
-			NeurotechClientDto dto = converter.convertToDto(updatedClient);
+			NeurotechClientDto dto = new NeurotechClientDto(id, client.getName(), client.getAge(), client.getIncome());
 			logger.info("Cliente com ID {} atualizado com sucesso.", id);
 			return dto;
 		} catch (Exception ex) {
+			rethrowIfUnavailable(ex);
 			logger.error("Erro ao atualizar cliente com ID {}: {}", id, ex.getMessage(), ex);
 			throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao atualizar cliente no banco de dados", ex);
+		} finally {
+			sample.stop(updateTimer);
+		}
+	}
+
+	@Transactional
+	public void patch(Long id, NeurotechClientDto changes) {
+		Timer.Sample sample = Timer.start();
+		try {
+			logger.info("Atualizando parcialmente cliente com ID: {}", id);
+			// Campos nulos mantêm o valor atual
+			int updated = repository.patchById(id, changes.getName(), changes.getAge(), changes.getIncome());
+			if (updated == 0) {
+				throw new ClientNotFoundException("Cliente com ID " + id + " não encontrado.");
+			}
+			clientCache.invalidate(id);
+			// O snapshot colunar precisa da linha completa com a versão gravada, então só com ele carregado a linha
+			// é relida; o contexto de persistência desta transação está vazio e o findById enxerga o UPDATE
+			if (columnStore.isLoaded()) {
+				NeurotechClient patched = repository.findById(id).orElseThrow();
+				columnStore.onReplaced(id, patched.getVersion(), patched.getName(), patched.getAge(), patched.getIncome());
+			}
+			logger.info("Cliente com ID {} atualizado parcialmente com sucesso.", id);
+		} catch (Exception ex) {
+			rethrowIfUnavailable(ex);
+			logger.error("Erro ao atualizar parcialmente cliente com ID {}: {}", id, ex.getMessage(), ex);
+			throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao atualizar cliente no banco de dados", ex);
+		} finally {
+			sample.stop(patchTimer);
 		}
 	}
 
 	@Transactional
 	public void delete(Long id) {
+		Timer.Sample sample = Timer.start();
 		try {
 			logger.info("Deletando cliente com ID: {}", id);
-			if (!repository.existsById(id)) {
+			if (repository.removeById(id) == 0) {
 				throw new ClientNotFoundException("Cliente com ID " + id + " não encontrado.");
 			}
-			repository.deleteById(id);
+			clientCache.invalidate(id);
+			columnStore.onDeleted(id);
 			logger.info("Cliente com ID {} deletado com sucesso.", id);
 		} catch (Exception ex) {
+			rethrowIfUnavailable(ex);
 			logger.error("Erro ao excluir cliente com ID {}: {}", id, ex.getMessage(), ex);
 			throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao excluir cliente no banco de dados", ex);
+		} finally {
+			sample.stop(deleteTimer);
 		}
 	}
 
-	public Map<String, String> getHateoasLinks(Long id) {
-		String selfLink = linkTo(methodOn(NeurotechClientController.class).getClientById(id)).withSelfRel().getHref();
-		return Map.of("self", selfLink);
+	// Recusa do banco deste nó (503, ex.: repositório somente leitura): segue como está em vez de virar 500
+	private static void rethrowIfUnavailable(Exception ex) {
+		if (ex instanceof ResponseStatusException rejected && rejected.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE) {
+			throw rejected;
+		}
+	}
+
+	// Linhas do ClientStore usam Integer.MIN_VALUE e NaN para idade e renda ausentes
+	private static NeurotechClientDto toDto(ClientRow row) {
+		return new NeurotechClientDto(row.id(), row.name(), age(row.age()), income(row.income()));
+	}
+
+	private static Integer age(int age) {
+		return age == Integer.MIN_VALUE ? null : age;
+	}
+
+	private static Double income(double income) {
+		return Double.isNaN(income) ? null : income;
 	}
 }
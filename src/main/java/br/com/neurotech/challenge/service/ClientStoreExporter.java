@@ -0,0 +1,42 @@
+package br.com.neurotech.challenge.service;
+
+import br.com.neurotech.challenge.repositories.ClientStore;
+import br.com.neurotech.challenge.repositories.MappedClientStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Roda no nó que tem o banco: exporta periodicamente os clientes para o arquivo lido pelos nós com
+// app.client-store.backend=mapped, que recarregam quando a data de modificação muda
+@Component
+@ConditionalOnProperty(name = "app.client-store.export.enabled", havingValue = "true")
+public class ClientStoreExporter {
+
+	private static final Logger logger = LoggerFactory.getLogger(ClientStoreExporter.class);
+
+	private final ClientStore clientStore;
+	private final Path target;
+
+	public ClientStoreExporter(ClientStore clientStore,
+							   @Value("${app.client-store.export.file:data/clients.bin}") String target) {
+		this.clientStore = clientStore;
+		this.target = Path.of(target);
+	}
+
+	@Scheduled(fixedDelayString = "${app.client-store.export.interval:PT5M}")
+	public void export() {
+		long start = System.nanoTime();
+		try {
+			int count = MappedClientStore.export(clientStore, target);
+			logger.info("{} clientes exportados para {} em {} ms.", count, target, (System.nanoTime() - start) / 1_000_000);
+		} catch (IOException | RuntimeException ex) {
+			logger.error("Erro ao exportar clientes para {}, mantendo o arquivo anterior: {}", target, ex.getMessage(), ex);
+		}
+	}
+}
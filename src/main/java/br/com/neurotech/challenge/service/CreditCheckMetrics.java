@@ -0,0 +1,76 @@
+package br.com.neurotech.challenge.service;
+
+import br.com.neurotech.challenge.entity.CreditDecision;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+// Métricas da análise de crédito. Todos os timers e contadores são criados de antemão, um por
+// combinação de modelo e decisão, para que registrar uma análise seja só um acesso a array.
+final class CreditCheckMetrics {
+
+	static final String CHECK_TIMER = "credit.check";
+	static final String REJECTION_COUNTER = "credit.check.rejections";
+
+	private static final VehicleModel[] MODELS = VehicleModel.values();
+	private static final int DECISIONS = CreditDecision.codeCount();
+	private static final String NONE = "none";
+
+	private final Timer[] decisionTimers = new Timer[MODELS.length * DECISIONS];
+	private final Counter[] rejectionCounters = new Counter[MODELS.length * DECISIONS];
+	private final Timer[] notFoundTimers = new Timer[MODELS.length];
+
+	CreditCheckMetrics(MeterRegistry registry) {
+		for (VehicleModel model : MODELS) {
+			for (int code = 0; code < DECISIONS; code++) {
+				CreditDecision decision = CreditDecision.fromCode(code);
+				if (decision.modality() == null && decision.rejectionReason() == null) {
+					continue;
+				}
+				String modality = decision.modality() == null ? NONE : decision.modality().name();
+				String reason = decision.isApproved() ? NONE : decision.rejectionReason().name();
+				int slot = slot(model, code);
+				decisionTimers[slot] = timer(registry, model, decision.isApproved() ? "approved" : "rejected", modality, reason);
+				if (!decision.isApproved()) {
+					rejectionCounters[slot] = Counter.builder(REJECTION_COUNTER)
+							.description("Análises de crédito recusadas por motivo")
+							.tag("model", model.name())
+							.tag("reason", reason)
+							.register(registry);
+				}
+			}
+			notFoundTimers[model.ordinal()] = timer(registry, model, "not_found", NONE, NONE);
+		}
+	}
+
+	void record(VehicleModel model, CreditDecision decision, long elapsedNanos) {
+		int slot = slot(model, decision.code());
+		decisionTimers[slot].record(elapsedNanos, TimeUnit.NANOSECONDS);
+		Counter rejections = rejectionCounters[slot];
+		if (rejections != null) {
+			rejections.increment();
+		}
+	}
+
+	void recordNotFound(VehicleModel model, long elapsedNanos) {
+		notFoundTimers[model.ordinal()].record(elapsedNanos, TimeUnit.NANOSECONDS);
+	}
+
+	private static int slot(VehicleModel model, int code) {
+		return model.ordinal() * DECISIONS + code;
+	}
+
+	private static Timer timer(MeterRegistry registry, VehicleModel model, String outcome, String modality, String reason) {
+		return Timer.builder(CHECK_TIMER)
+				.description("Tempo da análise de crédito automotivo")
+				.tag("model", model.name())
+				.tag("outcome", outcome)
+				.tag("modality", modality)
+				.tag("reason", reason)
+				.publishPercentileHistogram()
+				.register(registry);
+	}
+}
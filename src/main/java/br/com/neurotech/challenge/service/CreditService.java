@@ -1,93 +1,241 @@
 package br.com.neurotech.challenge.service;
 
+import br.com.neurotech.challenge.cache.ClientCache;
+import br.com.neurotech.challenge.cache.CreditDecisionCache;
+import br.com.neurotech.challenge.cache.SingleFlight;
+import br.com.neurotech.challenge.dtos.CreditBatchResultDto;
+import br.com.neurotech.challenge.dtos.CreditCheckRequestDto;
 import br.com.neurotech.challenge.dtos.CreditCheckResponseDto;
-import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.dtos.EligibleClientDto;
+import br.com.neurotech.challenge.entity.ClientSnapshot;
+import br.com.neurotech.challenge.entity.CreditCheckRecord;
+import br.com.neurotech.challenge.entity.CreditCheckStatus;
+import br.com.neurotech.challenge.entity.CreditDecision;
+import br.com.neurotech.challenge.entity.CreditModality;
 import br.com.neurotech.challenge.entity.VehicleModel;
-import br.com.neurotech.challenge.exceptions.ClientNotEligibleForCreditException;
-import br.com.neurotech.challenge.repositories.ClientRepository;
+import br.com.neurotech.challenge.repositories.ClientIncomeRow;
+import br.com.neurotech.challenge.repositories.ClientStore;
+import br.com.neurotech.challenge.repositories.CreditRepository;
+import br.com.neurotech.challenge.rules.AgeIncomeRange;
+import br.com.neurotech.challenge.rules.CompiledCreditRules;
+import br.com.neurotech.challenge.rules.CreditRuleEngine;
+import br.com.neurotech.challenge.snapshot.ClientColumnStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-import br.com.neurotech.challenge.controllers.CreditController;
-
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 public class CreditService {
 
-	private final ClientRepository repository;
-
-	public CreditService(ClientRepository repository) {
-		this.repository = repository;
+	private static final AgeIncomeRange HATCH_SCAN_WINDOW = new AgeIncomeRange(23, 49, -Double.MAX_VALUE, Double.MAX_VALUE);
+	private static final int BATCH_CHUNK_SIZE = 1000;
+
+	private final ClientStore clientStore;
+	private final CreditRuleEngine ruleEngine;
+	private final ClientCache clientCache;
+	private final CreditDecisionCache decisionCache;
+	private final ClientColumnStore columnStore;
+	private final CreditRepository creditRepository;
+	private final CreditCheckMetrics metrics;
+	private final SingleFlight<CheckKey, CreditEvaluation> inFlightChecks;
+
+	public CreditService(ClientStore clientStore, CreditRuleEngine ruleEngine, ClientCache clientCache,
+						 CreditDecisionCache decisionCache, ClientColumnStore columnStore,
+						 CreditRepository creditRepository, MeterRegistry meterRegistry,
+						 @Value("${app.credit-check.coalescing-timeout:PT5S}") Duration coalescingTimeout) {
+		this.clientStore = clientStore;
+		this.ruleEngine = ruleEngine;
+		this.clientCache = clientCache;
+		this.decisionCache = decisionCache;
+		this.columnStore = columnStore;
+		this.creditRepository = creditRepository;
+		this.metrics = new CreditCheckMetrics(meterRegistry);
+		this.inFlightChecks = new SingleFlight<>(coalescingTimeout);
+		FunctionCounter.builder("credit.check.coalesced", inFlightChecks, SingleFlight::coalescedCount)
+				.description("Verificações de crédito atendidas por uma execução já em andamento")
+				.register(meterRegistry);
+		FunctionCounter.builder("credit.check.coalescing.timeouts", inFlightChecks, SingleFlight::timeoutCount)
+				.description("Esperas por uma verificação em andamento que excederam o timeout")
+				.register(meterRegistry);
 	}
 
 	public CreditCheckResponseDto checkCredit(Long clientId, VehicleModel model) {
-		NeurotechClient client = repository.findById(clientId)
-				.orElseThrow(() -> new RuntimeException("Cliente não encontrado"));
+		long start = System.nanoTime();
+		// Verificações simultâneas do mesmo cliente e modelo compartilham a leitura e a decisão;
+		// o registro de auditoria e a métrica continuam sendo um por requisição
+		CreditEvaluation evaluation = inFlightChecks.execute(new CheckKey(clientId, model), () -> evaluate(clientId, model));
+		if (evaluation == null) {
+			creditRepository.appendNotFound(clientId, model);
+			metrics.recordNotFound(model, System.nanoTime() - start);
+			throw new RuntimeException("Cliente não encontrado");
+		}
+
+		creditRepository.append(clientId, model, evaluation.decision());
+		metrics.record(model, evaluation.decision(), System.nanoTime() - start);
+		// A avaliação pode ser compartilhada entre requisições; o DTO (mutável) é sempre de quem o recebe
+		return response(evaluation.client(), model, evaluation.decision());
+	}
+
+	// Resposta da análise; o nome do cliente só aparece quando aprovado
+	static CreditCheckResponseDto response(ClientSnapshot client, VehicleModel model, CreditDecision decision) {
+		return decision.isApproved()
+				? new CreditCheckResponseDto(client.id(), client.name(), model.name(), true, decision.message())
+				: new CreditCheckResponseDto(client.id(), null, model.name(), false, decision.message());
+	}
+
+	// null quando o cliente não existe
+	private CreditEvaluation evaluate(Long clientId, VehicleModel model) {
+		ClientSnapshot client = clientCache.getOrNull(clientId);
+		if (client == null) {
+			return null;
+		}
+
+		// A versão do cliente e a geração das regras fazem parte da chave: alterações invalidam sozinhas
+		CompiledCreditRules rules = ruleEngine.current();
+		CreditDecision decision = decisionCache.get(clientId, client.version(), rules.generation(), model);
+		if (decision == null) {
+			decision = rules.decide(client.age(), client.income(), model);
+			decisionCache.put(clientId, client.version(), rules.generation(), model, decision);
+		}
+		return new CreditEvaluation(client, decision);
+	}
 
-		String creditType = determineCreditType(client);
+	public void checkCreditBatch(List<CreditCheckRequestDto> requests, Consumer<CreditBatchResultDto> results) {
+		// Um findAllById por bloco mantém a lista do IN limitada e evita um SELECT por item
+		for (int start = 0; start < requests.size(); start += BATCH_CHUNK_SIZE) {
+			List<CreditCheckRequestDto> chunk = requests.subList(start, Math.min(start + BATCH_CHUNK_SIZE, requests.size()));
 
-		if (model == VehicleModel.HATCH && !isEligibleForHatch(client)) {
-			throw new ClientNotEligibleForCreditException("Cliente não é elegível para crédito para veículo do tipo Hatch.");
+			Set<Long> ids = new HashSet<>();
+			for (CreditCheckRequestDto request : chunk) {
+				if (request != null && request.getClientId() != null) {
+					ids.add(request.getClientId());
+				}
+			}
+
+			Map<Long, ClientSnapshot> clients = clientStore.findAllById(ids);
+
+			for (CreditCheckRequestDto request : chunk) {
+				results.accept(evaluate(request, request == null ? null : clients.get(request.getClientId())));
+			}
 		}
+	}
 
-		if (model == VehicleModel.SUV && !isEligibleForSuv(client)) {
-			throw new ClientNotEligibleForCreditException("Cliente não é elegível para crédito para veículo do tipo SUV.");
+	private CreditBatchResultDto evaluate(CreditCheckRequestDto request, ClientSnapshot client) {
+		// Elemento nulo no array (ex.: [null]): uma linha INVALID em vez de interromper o streaming já iniciado
+		if (request == null) {
+			return new CreditBatchResultDto(null, null, null, CreditCheckStatus.INVALID, false, "Verificação não informada.");
+		}
+		VehicleModel model = request.getModel();
+		if (model == null) {
+			return new CreditBatchResultDto(request.getClientId(), null, null, CreditCheckStatus.INVALID, false,
+					"Modelo de veículo não informado.");
+		}
+		if (client == null) {
+			if (request.getClientId() != null) {
+				creditRepository.appendNotFound(request.getClientId(), model);
+			}
+			return new CreditBatchResultDto(request.getClientId(), null, model.name(), CreditCheckStatus.NOT_FOUND, false,
+					"Cliente não encontrado");
 		}
 
-		CreditCheckResponseDto response = new CreditCheckResponseDto(
-				client.getId(),
-				client.getName(),
-				model.name(),
-				true,
-				"Apto para crédito automotivo na modalidade: " + creditType
-		);
+		CreditDecision decision = decide(client.age(), client.income(), model);
+		creditRepository.append(client.id(), model, decision);
+		if (!decision.isApproved()) {
+			return new CreditBatchResultDto(client.id(), null, model.name(), CreditCheckStatus.NOT_ELIGIBLE, false,
+					decision.message());
+		}
+		return new CreditBatchResultDto(client.id(), client.name(), model.name(), CreditCheckStatus.ELIGIBLE, true,
+				decision.message());
+	}
 
-		return response;
+	// Histórico de verificações do cliente, direto do log de auditoria
+	public List<CreditCheckRecord> findLatestChecks(long clientId, int limit) {
+		return creditRepository.findLatestByClientId(clientId, limit);
 	}
 
 	public List<Map<String, Object>> findEligibleClientsForHatch() {
-		List<NeurotechClient> clients = repository.findAll();
-
-
-		return clients.stream()
-				.filter(client -> client.getAge() >= 23 && client.getAge() <= 49)
-				.filter(client -> determineCreditType(client).contains("Juros Fixos"))
-				.filter(this::isEligibleForHatch)
-				.map(client -> {
-					Map<String, Object> clientData = new HashMap<>();
-					clientData.put("name", client.getName());
-					clientData.put("income", client.getIncome());
-					return clientData;
-				})
-				.collect(Collectors.toList());
+		List<EligibleClientDto> clients = findEligibleHatchClients();
+		List<Map<String, Object>> result = new ArrayList<>(clients.size());
+		for (EligibleClientDto client : clients) {
+			Map<String, Object> clientData = new HashMap<>();
+			clientData.put("name", client.name());
+			clientData.put("income", client.income());
+			result.add(clientData);
+		}
+		return result;
 	}
 
+	public List<EligibleClientDto> findEligibleHatchClients() {
+		CompiledCreditRules rules = ruleEngine.current();
+		AgeIncomeRange window = hatchWindow(rules);
+		if (window.isEmpty()) {
+			return List.of();
+		}
+
+		// Com o snapshot colunar carregado a varredura não passa pelo banco
+		if (columnStore.isLoaded()) {
+			return columnStore.scan(window.minAge(), window.maxAge(), window.minIncome(), window.maxIncome(),
+					(age, income) -> isEligibleForHatch(rules, age, income),
+					(id, name, age, income) -> new EligibleClientDto(name, income));
+		}
+
+		List<ClientIncomeRow> rows = clientStore.findInAgeAndIncomeRange(
+				window.minAge(), window.maxAge(), window.minIncome(), window.maxIncome());
 
-	private String determineCreditType(NeurotechClient client) {
-		int age = client.getAge();
-		double income = client.getIncome();
+		List<EligibleClientDto> eligible = new ArrayList<>(rows.size());
+		for (ClientIncomeRow row : rows) {
+			if (isEligibleForHatch(rules, row.age(), row.income())) {
+				eligible.add(new EligibleClientDto(row.name(), row.income()));
+			}
+		}
+		return eligible;
+	}
 
-		if (age >= 18 && age <= 25) {
-			return "Crédito com Juros Fixos (5% a.a)";
-		} else if (age >= 21 && age <= 65 && income >= 5000.00 && income <= 15000.00) {
-			return "Crédito com Juros Variáveis";
-		} else if (age > 65) {
-			return "Crédito Consignado";
-		} else {
-			throw new ClientNotEligibleForCreditException("Cliente não atende aos critérios de crédito.");
+	// Mesmo resultado, entregue linha a linha enquanto a leitura do ClientStore avança
+	public void streamEligibleHatchClients(Consumer<EligibleClientDto> action) {
+		CompiledCreditRules rules = ruleEngine.current();
+		AgeIncomeRange window = hatchWindow(rules);
+		if (window.isEmpty()) {
+			return;
 		}
+		clientStore.forEachInAgeAndIncomeRange(window.minAge(), window.maxAge(), window.minIncome(), window.maxIncome(), row -> {
+			if (isEligibleForHatch(rules, row.age(), row.income())) {
+				action.accept(new EligibleClientDto(row.name(), row.income()));
+			}
+		});
+	}
+
+	// A faixa de Juros Fixos cruzada com a do Hatch limita a busca pelo índice (age, income);
+	// a decisão completa ainda é reaplicada em cada candidato para o resultado ser exato.
+	private static AgeIncomeRange hatchWindow(CompiledCreditRules rules) {
+		return HATCH_SCAN_WINDOW
+				.intersect(rules.modalityRange(CreditModality.FIXED_INTEREST))
+				.intersect(rules.vehicleRange(VehicleModel.HATCH));
+	}
+
+	private static boolean isEligibleForHatch(CompiledCreditRules rules, int age, double income) {
+		CreditDecision decision = rules.decide(age, income, VehicleModel.HATCH);
+		return decision.isApproved() && decision.modality() == CreditModality.FIXED_INTEREST;
+	}
+
+	public CreditDecision decide(int age, double income, VehicleModel model) {
+		return ruleEngine.decide(age, income, model);
 	}
 
-	private boolean isEligibleForHatch(NeurotechClient client) {
-		return client.getIncome() >= 5000.00 && client.getIncome() <= 15000.00;
+	private record CheckKey(Long clientId, VehicleModel model) {
 	}
 
-	private boolean isEligibleForSuv(NeurotechClient client) {
-		return client.getIncome() > 8000.00 && client.getAge() > 20;
+	// Só objetos imutáveis: a mesma avaliação é entregue a todas as requisições juntadas pelo SingleFlight
+	private record CreditEvaluation(ClientSnapshot client, CreditDecision decision) {
 	}
 }
@@ -0,0 +1,244 @@
+package br.com.neurotech.challenge.service;
+
+import br.com.neurotech.challenge.dtos.EligibilityScanDto;
+import br.com.neurotech.challenge.dtos.ModelEligibilityDto;
+import br.com.neurotech.challenge.dtos.ScannedClientDto;
+import br.com.neurotech.challenge.entity.CreditDecision;
+import br.com.neurotech.challenge.entity.CreditModality;
+import br.com.neurotech.challenge.entity.CreditRejectionReason;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import br.com.neurotech.challenge.rules.CompiledCreditRules;
+import br.com.neurotech.challenge.rules.CreditRuleEngine;
+import br.com.neurotech.challenge.snapshot.ClientColumnStore;
+import br.com.neurotech.challenge.snapshot.ClientColumns;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Elegibilidade de todos os clientes para todos os modelos em uma única passada sobre o snapshot colunar.
+// As linhas são divididas em blocos processados em um ForkJoinPool próprio; cada bloco tem seus próprios
+// contadores e aprovados, que são somados e concatenados na ordem dos blocos no final. Sob a trava de leitura
+// do snapshot só se copiam valores primitivos (e a referência do nome); os DTOs são montados depois de soltá-la,
+// para não segurar as escritas do snapshot enquanto se alocam milhões de objetos.
+@Service
+public class EligibilityScanService {
+
+	private static final Logger logger = LoggerFactory.getLogger(EligibilityScanService.class);
+
+	private static final VehicleModel[] MODELS = VehicleModel.values();
+	private static final int DECISIONS = CreditDecision.codeCount();
+	static final int CHUNK_ROWS = 1 << 15;
+
+	private final ClientColumnStore columnStore;
+	private final CreditRuleEngine ruleEngine;
+	private final ForkJoinPool pool;
+
+	public EligibilityScanService(ClientColumnStore columnStore, CreditRuleEngine ruleEngine,
+								  @Value("${app.eligibility-scan.parallelism:0}") int parallelism) {
+		this.columnStore = columnStore;
+		this.ruleEngine = ruleEngine;
+		this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		pool.shutdown();
+	}
+
+	public EligibilityScanDto scanAllModels(boolean includeClients) {
+		if (!columnStore.isLoaded()) {
+			throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Snapshot colunar de clientes não está disponível.");
+		}
+		long start = System.nanoTime();
+		CompiledCreditRules rules = ruleEngine.current();
+		EligibilityScanDto result = scan(pool, rules, columnStore, includeClients);
+		logger.info("Varredura de elegibilidade de {} clientes em {} ms ({} threads).",
+				result.scanned(), (System.nanoTime() - start) / 1_000_000, pool.getParallelism());
+		return result;
+	}
+
+	static EligibilityScanDto scan(ForkJoinPool pool, CompiledCreditRules rules, ClientColumnStore columnStore,
+								   boolean includeClients) {
+		ChunkResult[] results = columnStore.read(columns -> scanChunks(pool, rules, columns, includeClients));
+		return merge(rules, results, includeClients);
+	}
+
+	private static ChunkResult[] scanChunks(ForkJoinPool pool, CompiledCreditRules rules, ClientColumns columns,
+											boolean includeClients) {
+		int chunks = (columns.size() + CHUNK_ROWS - 1) / CHUNK_ROWS;
+		ChunkResult[] results = new ChunkResult[chunks];
+		if (chunks > 0) {
+			pool.invoke(new ScanTask(rules, columns, includeClients, results, 0, chunks));
+		}
+		return results;
+	}
+
+	// Já fora da trava: soma os contadores e monta os DTOs dos aprovados a partir das cópias de cada bloco
+	private static EligibilityScanDto merge(CompiledCreditRules rules, ChunkResult[] results, boolean includeClients) {
+		long scanned = 0;
+		long[] counts = new long[MODELS.length * DECISIONS];
+		int[] approved = new int[MODELS.length];
+		for (ChunkResult chunk : results) {
+			scanned += chunk.scanned;
+			for (int i = 0; i < counts.length; i++) {
+				counts[i] += chunk.counts[i];
+			}
+			if (includeClients) {
+				for (int m = 0; m < MODELS.length; m++) {
+					approved[m] += chunk.approved[m].size;
+				}
+			}
+		}
+
+		List<ModelEligibilityDto> models = new ArrayList<>(MODELS.length);
+		for (VehicleModel model : MODELS) {
+			List<ScannedClientDto> clients = new ArrayList<>(approved[model.ordinal()]);
+			if (includeClients) {
+				for (ChunkResult chunk : results) {
+					chunk.approved[model.ordinal()].addTo(clients);
+				}
+			}
+			models.add(summarize(model, counts, clients));
+		}
+		return new EligibilityScanDto(scanned, rules.generation(), models);
+	}
+
+	private static ModelEligibilityDto summarize(VehicleModel model, long[] counts, List<ScannedClientDto> clients) {
+		Map<CreditModality, Long> byModality = new EnumMap<>(CreditModality.class);
+		Map<CreditRejectionReason, Long> byReason = new EnumMap<>(CreditRejectionReason.class);
+		long eligible = 0;
+		long rejected = 0;
+		for (int code = 0; code < DECISIONS; code++) {
+			long count = counts[model.ordinal() * DECISIONS + code];
+			if (count == 0) {
+				continue;
+			}
+			CreditDecision decision = CreditDecision.fromCode(code);
+			if (decision.isApproved()) {
+				eligible += count;
+				byModality.merge(decision.modality(), count, Long::sum);
+			} else {
+				rejected += count;
+				byReason.merge(decision.rejectionReason(), count, Long::sum);
+			}
+		}
+		return new ModelEligibilityDto(model, eligible, rejected, byModality, byReason, clients);
+	}
+
+	private static final class ChunkResult {
+		private final int[] counts = new int[MODELS.length * DECISIONS];
+		private final Approved[] approved;
+		private int scanned;
+
+		private ChunkResult(boolean includeClients) {
+			approved = new Approved[MODELS.length];
+			if (includeClients) {
+				for (int m = 0; m < MODELS.length; m++) {
+					approved[m] = new Approved();
+				}
+			}
+		}
+	}
+
+	// Aprovados de um bloco em colunas: as linhas do snapshot podem mudar assim que a trava é solta,
+	// então os valores são copiados; o nome é uma String imutável e só a referência é guardada
+	private static final class Approved {
+		private long[] ids = new long[16];
+		private String[] names = new String[16];
+		private int[] ages = new int[16];
+		private double[] incomes = new double[16];
+		private int[] decisions = new int[16];
+		private int size;
+
+		private void add(long id, String name, int age, double income, int decision) {
+			if (size == ids.length) {
+				int capacity = size << 1;
+				ids = Arrays.copyOf(ids, capacity);
+				names = Arrays.copyOf(names, capacity);
+				ages = Arrays.copyOf(ages, capacity);
+				incomes = Arrays.copyOf(incomes, capacity);
+				decisions = Arrays.copyOf(decisions, capacity);
+			}
+			ids[size] = id;
+			names[size] = name;
+			ages[size] = age;
+			incomes[size] = income;
+			decisions[size] = decision;
+			size++;
+		}
+
+		private void addTo(List<ScannedClientDto> clients) {
+			for (int i = 0; i < size; i++) {
+				clients.add(new ScannedClientDto(ids[i], names[i], ages[i], incomes[i],
+						CreditDecision.fromCode(decisions[i]).modality()));
+			}
+		}
+	}
+
+	// Divide o intervalo de blocos ao meio até sobrar um bloco, que é varrido sequencialmente
+	private static final class ScanTask extends RecursiveAction {
+
+		private final CompiledCreditRules rules;
+		private final ClientColumns columns;
+		private final boolean includeClients;
+		private final ChunkResult[] results;
+		private final int fromChunk;
+		private final int toChunk;
+
+		private ScanTask(CompiledCreditRules rules, ClientColumns columns, boolean includeClients,
+						 ChunkResult[] results, int fromChunk, int toChunk) {
+			this.rules = rules;
+			this.columns = columns;
+			this.includeClients = includeClients;
+			this.results = results;
+			this.fromChunk = fromChunk;
+			this.toChunk = toChunk;
+		}
+
+		@Override
+		protected void compute() {
+			if (toChunk - fromChunk > 1) {
+				int middle = (fromChunk + toChunk) >>> 1;
+				invokeAll(new ScanTask(rules, columns, includeClients, results, fromChunk, middle),
+						new ScanTask(rules, columns, includeClients, results, middle, toChunk));
+				return;
+			}
+			results[fromChunk] = scanChunk(fromChunk * CHUNK_ROWS, Math.min(columns.size(), (fromChunk + 1) * CHUNK_ROWS));
+		}
+
+		private ChunkResult scanChunk(int from, int to) {
+			ChunkResult result = new ChunkResult(includeClients);
+			int[] ages = columns.ages();
+			double[] incomes = columns.incomes();
+			int[] counts = result.counts;
+			for (int row = from; row < to; row++) {
+				if (!columns.isScannable(row)) {
+					continue;
+				}
+				result.scanned++;
+				int age = ages[row];
+				double income = incomes[row];
+				for (int m = 0; m < MODELS.length; m++) {
+					CreditDecision decision = rules.decide(age, income, MODELS[m]);
+					counts[m * DECISIONS + decision.code()]++;
+					if (includeClients && decision.isApproved()) {
+						result.approved[m].add(columns.ids()[row], columns.name(row), age, income, decision.code());
+					}
+				}
+			}
+			return result;
+		}
+	}
+}
@@ -0,0 +1,120 @@
+package br.com.neurotech.challenge.service;
+
+import br.com.neurotech.challenge.dtos.IncomeHistogramDto;
+import br.com.neurotech.challenge.dtos.PortfolioStatsDto;
+import br.com.neurotech.challenge.entity.CreditModality;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import br.com.neurotech.challenge.repositories.PortfolioStatsRow;
+import br.com.neurotech.challenge.rules.CompiledCreditRules;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Contadores da carteira para uma geração de regras. Alimentados linha a linha pelo resumo incremental
+// ou em grupos pela agregação do banco; os dois caminhos usam as mesmas faixas etárias e buckets de renda.
+final class PortfolioCounters {
+
+	private static final CreditModality[] MODALITIES = CreditModality.values();
+	private static final VehicleModel[] MODELS = VehicleModel.values();
+
+	private final CompiledCreditRules rules;
+	private final int[] ageBreakpoints;
+	private final double bucketWidth;
+	private final int buckets;
+
+	private long clients;
+	// Indexado por CreditModality.ordinal(); a última posição conta quem não tem modalidade
+	private final long[] byModality = new long[MODALITIES.length + 1];
+	private final long[] approvedByModel = new long[MODELS.length];
+	// [faixa etária * buckets + bucket de renda]
+	private final long[] histogram;
+
+	PortfolioCounters(CompiledCreditRules rules, double bucketWidth, int buckets) {
+		this.rules = rules;
+		this.ageBreakpoints = rules.ageBreakpoints();
+		this.bucketWidth = bucketWidth;
+		this.buckets = buckets;
+		this.histogram = new long[(ageBreakpoints.length + 1) * buckets];
+	}
+
+	CompiledCreditRules rules() {
+		return rules;
+	}
+
+	int[] ageBreakpoints() {
+		return ageBreakpoints;
+	}
+
+	// Faixa = quantidade de limites menores ou iguais à idade
+	int ageBand(int age) {
+		int index = Arrays.binarySearch(ageBreakpoints, age);
+		return index >= 0 ? index + 1 : -index - 1;
+	}
+
+	int incomeBucket(double income) {
+		return (int) Math.min(Math.max(Math.floor(income / bucketWidth), 0), buckets - 1);
+	}
+
+	void add(int age, double income, long delta) {
+		CreditModality modality = rules.modalityOf(age, income);
+		int approvedModels = 0;
+		if (modality != null) {
+			for (VehicleModel model : MODELS) {
+				if (rules.decide(age, income, model).isApproved()) {
+					approvedModels |= 1 << model.ordinal();
+				}
+			}
+		}
+		add(modality, ageBand(age), incomeBucket(income), approvedModels, delta);
+	}
+
+	void add(PortfolioStatsRow row) {
+		add(row.modality(), row.ageBand(), row.incomeBucket(), row.approvedModels(), row.clients());
+	}
+
+	private void add(CreditModality modality, int band, int bucket, int approvedModels, long count) {
+		clients += count;
+		byModality[modality == null ? MODALITIES.length : modality.ordinal()] += count;
+		// A faixa do veículo só vale para quem tem modalidade
+		if (modality != null) {
+			for (int v = 0; v < MODELS.length; v++) {
+				if ((approvedModels & (1 << v)) != 0) {
+					approvedByModel[v] += count;
+				}
+			}
+		}
+		histogram[band * buckets + bucket] += count;
+	}
+
+	PortfolioStatsDto toDto(String source) {
+		Map<String, Long> modalities = new LinkedHashMap<>();
+		for (CreditModality modality : MODALITIES) {
+			modalities.put(modality.name(), byModality[modality.ordinal()]);
+		}
+		modalities.put(PortfolioStatsDto.NOT_ELIGIBLE, byModality[MODALITIES.length]);
+
+		Map<VehicleModel, Long> models = new EnumMap<>(VehicleModel.class);
+		for (VehicleModel model : MODELS) {
+			models.put(model, approvedByModel[model.ordinal()]);
+		}
+
+		List<IncomeHistogramDto> histograms = new ArrayList<>(ageBreakpoints.length + 1);
+		for (int band = 0; band <= ageBreakpoints.length; band++) {
+			Integer minAge = band == 0 ? null : ageBreakpoints[band - 1];
+			Integer maxAge = band == ageBreakpoints.length ? null : ageBreakpoints[band] - 1;
+			List<Long> counts = new ArrayList<>(buckets);
+			long total = 0;
+			for (int bucket = 0; bucket < buckets; bucket++) {
+				long count = histogram[band * buckets + bucket];
+				counts.add(count);
+				total += count;
+			}
+			histograms.add(new IncomeHistogramDto(minAge, maxAge, total, bucketWidth, counts));
+		}
+		return new PortfolioStatsDto(clients, source, rules.generation(), modalities, models, histograms);
+	}
+}
@@ -0,0 +1,122 @@
+package br.com.neurotech.challenge.service;
+
+import br.com.neurotech.challenge.dtos.PortfolioStatsDto;
+import br.com.neurotech.challenge.repositories.PortfolioStatsRepository;
+import br.com.neurotech.challenge.rules.CompiledCreditRules;
+import br.com.neurotech.challenge.rules.CreditRuleEngine;
+import br.com.neurotech.challenge.snapshot.ClientChangeListener;
+import br.com.neurotech.challenge.snapshot.ClientColumnStore;
+import br.com.neurotech.challenge.snapshot.ClientColumns;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+// Estatísticas da carteira. O resumo incremental acompanha as escritas do ClientService pelo snapshot
+// colunar (que já recebe cada alteração depois do commit) e responde sem tocar no banco; sem snapshot,
+// ou quando pedido explicitamente, os totais vêm de uma única consulta agregada no banco.
+@Service
+public class PortfolioStatsService implements ClientChangeListener {
+
+	public static final String SOURCE_SUMMARY = "summary";
+	public static final String SOURCE_DATABASE = "database";
+
+	private static final Logger logger = LoggerFactory.getLogger(PortfolioStatsService.class);
+
+	private final PortfolioStatsRepository repository;
+	private final CreditRuleEngine ruleEngine;
+	private final ClientColumnStore columnStore;
+	private final double bucketWidth;
+	private final int buckets;
+	private final boolean summaryEnabled;
+
+	// Protegido pelo monitor desta instância; os eventos do snapshot chegam com a trava de escrita dele tomada
+	private PortfolioCounters summary;
+
+	public PortfolioStatsService(PortfolioStatsRepository repository, CreditRuleEngine ruleEngine,
+								 ClientColumnStore columnStore,
+								 @Value("${app.portfolio.income-bucket-width:2500}") double bucketWidth,
+								 @Value("${app.portfolio.income-buckets:8}") int buckets,
+								 @Value("${app.portfolio.summary.enabled:true}") boolean summaryEnabled) {
+		if (bucketWidth <= 0 || buckets < 1) {
+			throw new IllegalArgumentException("Histograma de renda inválido: largura " + bucketWidth + ", buckets " + buckets + ".");
+		}
+		this.repository = repository;
+		this.ruleEngine = ruleEngine;
+		this.columnStore = columnStore;
+		this.bucketWidth = bucketWidth;
+		this.buckets = buckets;
+		this.summaryEnabled = summaryEnabled;
+		if (summaryEnabled) {
+			columnStore.addListener(this);
+		}
+	}
+
+	public PortfolioStatsDto stats(String source) {
+		if (SOURCE_SUMMARY.equals(source)) {
+			PortfolioStatsDto dto = fromSummary();
+			if (dto != null) {
+				return dto;
+			}
+		} else if (!SOURCE_DATABASE.equals(source)) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"Origem inválida: " + source + ". Use '" + SOURCE_SUMMARY + "' ou '" + SOURCE_DATABASE + "'.");
+		}
+		return fromDatabase();
+	}
+
+	PortfolioStatsDto fromDatabase() {
+		long start = System.nanoTime();
+		PortfolioCounters counters = new PortfolioCounters(ruleEngine.current(), bucketWidth, buckets);
+		repository.aggregate(counters.rules(), counters.ageBreakpoints(), bucketWidth, buckets).forEach(counters::add);
+		logger.debug("Estatísticas da carteira agregadas no banco em {} ms.", (System.nanoTime() - start) / 1_000_000);
+		return counters.toDto(SOURCE_DATABASE);
+	}
+
+	// null quando o resumo está desligado ou o snapshot ainda não foi carregado
+	PortfolioStatsDto fromSummary() {
+		if (!summaryEnabled || !columnStore.isLoaded()) {
+			return null;
+		}
+		CompiledCreditRules rules = ruleEngine.current();
+		return columnStore.read(columns -> {
+			synchronized (this) {
+				// Regras recarregadas mudam modalidades e faixas: o resumo é refeito a partir do snapshot em memória
+				if (summary == null || summary.rules().generation() != rules.generation()) {
+					summary = build(rules, columns);
+				}
+				return summary.toDto(SOURCE_SUMMARY);
+			}
+		});
+	}
+
+	@Override
+	public synchronized void onLoaded(ClientColumns columns) {
+		summary = build(ruleEngine.current(), columns);
+	}
+
+	@Override
+	public synchronized void onRowChanged(int oldAge, double oldIncome, int newAge, double newIncome) {
+		if (summary == null) {
+			return;
+		}
+		if (ClientColumns.isScannable(oldAge, oldIncome)) {
+			summary.add(oldAge, oldIncome, -1);
+		}
+		if (ClientColumns.isScannable(newAge, newIncome)) {
+			summary.add(newAge, newIncome, 1);
+		}
+	}
+
+	private PortfolioCounters build(CompiledCreditRules rules, ClientColumns columns) {
+		PortfolioCounters counters = new PortfolioCounters(rules, bucketWidth, buckets);
+		for (int row = 0; row < columns.size(); row++) {
+			if (columns.isScannable(row)) {
+				counters.add(columns.ages()[row], columns.incomes()[row], 1);
+			}
+		}
+		return counters;
+	}
+}
@@ -0,0 +1,53 @@
+package br.com.neurotech.challenge.service;
+
+import br.com.neurotech.challenge.dtos.CreditCheckResponseDto;
+import br.com.neurotech.challenge.entity.CreditDecision;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import br.com.neurotech.challenge.exceptions.ClientNotFoundException;
+import br.com.neurotech.challenge.repositories.CreditRepository;
+import br.com.neurotech.challenge.repositories.ReactiveClientStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+// Mesma análise de crédito do CreditService, com o cliente lido via R2DBC, e as mesmas métricas (credit.check e
+// credit.check.rejections), medidas da assinatura até a decisão. A thread do Tomcat é liberada, mas o driver
+// r2dbc-h2 executa a consulta de forma síncrona na thread que assina, então com o H2 a espera pelo banco só
+// muda de thread; um driver realmente assíncrono é que tiraria essa espera. A decisão é a função pura
+// CreditService.decide (tabela pré-calculada, sem I/O) e o registro no log de auditoria é uma cópia para
+// memória mapeada. O cliente vem do ReactiveClientStore do backend configurado (R2DBC ou o arquivo mapeado).
+@Service
+public class ReactiveCreditService {
+
+	private final ReactiveClientStore clientStore;
+	private final CreditService creditService;
+	private final CreditRepository creditRepository;
+	// Registrar os mesmos nomes e tags no MeterRegistry devolve os medidores já criados pelo CreditService
+	private final CreditCheckMetrics metrics;
+
+	public ReactiveCreditService(ReactiveClientStore clientStore, CreditService creditService,
+								 CreditRepository creditRepository, MeterRegistry meterRegistry) {
+		this.clientStore = clientStore;
+		this.creditService = creditService;
+		this.creditRepository = creditRepository;
+		this.metrics = new CreditCheckMetrics(meterRegistry);
+	}
+
+	public Mono<CreditCheckResponseDto> checkCredit(long clientId, VehicleModel model) {
+		return Mono.defer(() -> {
+			long start = System.nanoTime();
+			return clientStore.findById(clientId)
+					.map(client -> {
+						CreditDecision decision = creditService.decide(client.age(), client.income(), model);
+						creditRepository.append(clientId, model, decision);
+						metrics.record(model, decision, System.nanoTime() - start);
+						return CreditService.response(client, model, decision);
+					})
+					.switchIfEmpty(Mono.defer(() -> {
+						creditRepository.appendNotFound(clientId, model);
+						metrics.recordNotFound(model, System.nanoTime() - start);
+						return Mono.error(new ClientNotFoundException("Cliente com ID " + clientId + " não encontrado."));
+					}));
+		});
+	}
+}
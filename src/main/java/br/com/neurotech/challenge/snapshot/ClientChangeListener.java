@@ -0,0 +1,10 @@
+package br.com.neurotech.challenge.snapshot;
+
+// Notificado pelo ClientColumnStore, com a trava de escrita dele ainda tomada, a cada alteração aplicada.
+// Linha inexistente (inserção ou remoção) chega como idade Integer.MIN_VALUE e renda NaN.
+public interface ClientChangeListener {
+
+	void onLoaded(ClientColumns columns);
+
+	void onRowChanged(int oldAge, double oldIncome, int newAge, double newIncome);
+}
@@ -0,0 +1,396 @@
+package br.com.neurotech.challenge.snapshot;
+
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.repositories.ClientStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+// Cópia colunar da tabela de clientes para varreduras analíticas (idade x renda) sem entidades nem boxing.
+// Carregada antes do servidor HTTP subir (e de novo quando o ClientStore recarrega) e mantida em dia
+// pelas escritas do ClientService e da importação, aplicadas depois do commit. Renda ausente ou linha removida vira NaN, que nunca satisfaz
+// uma comparação; idade ausente vira Integer.MIN_VALUE, abaixo de qualquer faixa varrida. As linhas
+// removidas são compactadas quando passam de um quarto da tabela.
+// Os callbacks de afterCommit de transações concorrentes podem rodar fora da ordem dos commits, então cada
+// linha guarda a versão (@Version) e uma escrita com versão igual ou menor é ignorada. IDs excluídos ficam
+// marcados até a próxima carga, para que uma escrita atrasada não traga o cliente de volta.
+@Component
+public class ClientColumnStore implements SmartInitializingSingleton {
+
+	private static final Logger logger = LoggerFactory.getLogger(ClientColumnStore.class);
+
+	private static final int INITIAL_CAPACITY = 1024;
+	private static final int MIN_COMPACTION_ROWS = 1024;
+	private static final int REMOVED = -1;
+
+	private final ClientStore clientStore;
+	private final boolean enabled;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private long[] ids = new long[INITIAL_CAPACITY];
+	private long[] versions = new long[INITIAL_CAPACITY];
+	private int[] ages = new int[INITIAL_CAPACITY];
+	private double[] incomes = new double[INITIAL_CAPACITY];
+	private int[] nameRefs = new int[INITIAL_CAPACITY];
+	private int size;
+	private int deleted;
+	private final LongIntHashMap rowsById = new LongIntHashMap(INITIAL_CAPACITY);
+	private final LongIntHashMap deletedIds = new LongIntHashMap(16);
+
+	// Dicionário de nomes: cada nome distinto é guardado uma vez e as linhas apontam para o índice
+	private String[] names = new String[INITIAL_CAPACITY];
+	private int nameCount;
+	private final Map<String, Integer> nameIndex = new HashMap<>();
+
+	private final List<ClientChangeListener> listeners = new CopyOnWriteArrayList<>();
+	private volatile boolean loaded;
+
+	public ClientColumnStore(ClientStore clientStore, @Value("${app.column-store.enabled:true}") boolean enabled) {
+		this.clientStore = clientStore;
+		this.enabled = enabled;
+	}
+
+	// Roda antes de o servidor web começar a aceitar requisições, então nenhuma escrita se perde
+	@Override
+	public void afterSingletonsInstantiated() {
+		if (enabled) {
+			load();
+			clientStore.addReloadListener(this::load);
+		}
+	}
+
+	public void load() {
+		long start = System.nanoTime();
+		lock.writeLock().lock();
+		try {
+			clear();
+			clientStore.forEach(row -> append(row.id(), row.version(), row.name(), row.age(), row.income()));
+			loaded = true;
+			ClientColumns columns = new ClientColumns(size, ids, ages, incomes, nameRefs, names);
+			for (ClientChangeListener listener : listeners) {
+				listener.onLoaded(columns);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+		logger.info("Snapshot colunar carregado com {} clientes em {} ms.", size, (System.nanoTime() - start) / 1_000_000);
+	}
+
+	// Falso com o snapshot desligado: as escritas não precisam alimentá-lo
+	public boolean isLoaded() {
+		return loaded;
+	}
+
+	public void addListener(ClientChangeListener listener) {
+		listeners.add(listener);
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return size - deleted;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// Escritas vindas de transações só são aplicadas depois do commit; fora de transação, na hora.
+	// Com o snapshot desligado (app.column-store.enabled=false) elas são ignoradas.
+	public void onSaved(NeurotechClient client) {
+		afterCommit(() -> upsert(client.getId(), versionOf(client), client.getName(), client.getAge(), client.getIncome()));
+	}
+
+	public void onSaved(List<NeurotechClient> clients) {
+		afterCommit(() -> {
+			lock.writeLock().lock();
+			try {
+				for (NeurotechClient client : clients) {
+					upsertLocked(client.getId(), versionOf(client), client.getName(), client.getAge(), client.getIncome());
+				}
+			} finally {
+				lock.writeLock().unlock();
+			}
+		});
+	}
+
+	// version é a versão gravada pelo commit; o PATCH passa a linha completa relida na própria transação,
+	// já que aplicar só os campos alterados sobre uma linha desatualizada misturaria duas versões.
+	// Essa releitura custa um SELECT, então quem chama só a faz quando isLoaded() é verdadeiro.
+	public void onReplaced(long id, long version, String name, Integer age, Double income) {
+		afterCommit(() -> upsert(id, version, name, age, income));
+	}
+
+	public void onDeleted(long id) {
+		afterCommit(() -> {
+			lock.writeLock().lock();
+			try {
+				deletedIds.put(id, 0);
+				int row = rowsById.remove(id);
+				if (row == LongIntHashMap.MISSING) {
+					return;
+				}
+				changed(ages[row], incomes[row], Integer.MIN_VALUE, Double.NaN);
+				incomes[row] = Double.NaN;
+				nameRefs[row] = REMOVED;
+				deleted++;
+				if (deleted >= MIN_COMPACTION_ROWS && deleted > size / 4) {
+					compact();
+				}
+			} finally {
+				lock.writeLock().unlock();
+			}
+		});
+	}
+
+	// Varredura colunar: o filtro por faixa é um laço sobre arrays primitivos; só as linhas que passam
+	// chegam ao filtro fino. Sob a trava de leitura só se copiam valores primitivos (e a referência do nome)
+	// das linhas aceitas; o mapeamento roda depois de soltá-la, para que a alocação dos resultados não
+	// segure as escritas do snapshot.
+	public <T> List<T> scan(int minAge, int maxAge, double minIncome, double maxIncome,
+							RowFilter filter, RowMapper<T> mapper) {
+		Matches matches = new Matches();
+		lock.readLock().lock();
+		try {
+			int lowestAge = Math.max(minAge, 0);
+			int[] ageColumn = ages;
+			double[] incomeColumn = incomes;
+			int rows = size;
+			for (int i = 0; i < rows; i++) {
+				int age = ageColumn[i];
+				double income = incomeColumn[i];
+				if (age >= lowestAge && age <= maxAge && income >= minIncome && income <= maxIncome
+						&& filter.test(age, income)) {
+					matches.add(ids[i], names[nameRefs[i]], age, income);
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+		return matches.map(mapper);
+	}
+
+	// Conta as linhas na faixa sem materializar nada (usado para dimensionar e medir varreduras)
+	public int count(int minAge, int maxAge, double minIncome, double maxIncome) {
+		lock.readLock().lock();
+		try {
+			int lowestAge = Math.max(minAge, 0);
+			int[] ageColumn = ages;
+			double[] incomeColumn = incomes;
+			int rows = size;
+			int matches = 0;
+			for (int i = 0; i < rows; i++) {
+				int age = ageColumn[i];
+				double income = incomeColumn[i];
+				matches += (age >= lowestAge & age <= maxAge & income >= minIncome & income <= maxIncome) ? 1 : 0;
+			}
+			return matches;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// Executa o leitor com as colunas congeladas: escritas esperam até ele terminar. O leitor pode
+	// repartir as linhas entre threads, desde que todas terminem antes de ele retornar.
+	public <R> R read(Function<ClientColumns, R> reader) {
+		lock.readLock().lock();
+		try {
+			return reader.apply(new ClientColumns(size, ids, ages, incomes, nameRefs, names));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@FunctionalInterface
+	public interface RowFilter {
+		boolean test(int age, double income);
+	}
+
+	@FunctionalInterface
+	public interface RowMapper<T> {
+		T map(long id, String name, int age, double income);
+	}
+
+	// Linhas aceitas por uma varredura, copiadas em colunas: as do snapshot podem mudar assim que a trava é solta
+	private static final class Matches {
+		private long[] ids = new long[16];
+		private String[] names = new String[16];
+		private int[] ages = new int[16];
+		private double[] incomes = new double[16];
+		private int size;
+
+		private void add(long id, String name, int age, double income) {
+			if (size == ids.length) {
+				int capacity = size << 1;
+				ids = Arrays.copyOf(ids, capacity);
+				names = Arrays.copyOf(names, capacity);
+				ages = Arrays.copyOf(ages, capacity);
+				incomes = Arrays.copyOf(incomes, capacity);
+			}
+			ids[size] = id;
+			names[size] = name;
+			ages[size] = age;
+			incomes[size] = income;
+			size++;
+		}
+
+		private <T> List<T> map(RowMapper<T> mapper) {
+			List<T> result = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				result.add(mapper.map(ids[i], names[i], ages[i], incomes[i]));
+			}
+			return result;
+		}
+	}
+
+	private void upsert(long id, long version, String name, Integer age, Double income) {
+		lock.writeLock().lock();
+		try {
+			upsertLocked(id, version, name, age, income);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void upsertLocked(long id, long version, String name, Integer age, Double income) {
+		if (deletedIds.get(id) != LongIntHashMap.MISSING) {
+			return;
+		}
+		int row = rowsById.get(id);
+		if (row == LongIntHashMap.MISSING) {
+			append(id, version, name, age, income);
+			changed(Integer.MIN_VALUE, Double.NaN, ages[size - 1], incomes[size - 1]);
+			return;
+		}
+		if (version <= versions[row]) {
+			return;
+		}
+		versions[row] = version;
+		int oldAge = ages[row];
+		double oldIncome = incomes[row];
+		nameRefs[row] = nameRef(name);
+		ages[row] = age == null ? Integer.MIN_VALUE : age;
+		incomes[row] = income == null ? Double.NaN : income;
+		changed(oldAge, oldIncome, ages[row], incomes[row]);
+	}
+
+	private void changed(int oldAge, double oldIncome, int newAge, double newIncome) {
+		for (ClientChangeListener listener : listeners) {
+			listener.onRowChanged(oldAge, oldIncome, newAge, newIncome);
+		}
+	}
+
+	private void append(long id, long version, String name, Integer age, Double income) {
+		append(id, version, name, age == null ? Integer.MIN_VALUE : age, income == null ? Double.NaN : income.doubleValue());
+	}
+
+	private void append(long id, long version, String name, int age, double income) {
+		if (size == ids.length) {
+			int capacity = ids.length << 1;
+			ids = Arrays.copyOf(ids, capacity);
+			versions = Arrays.copyOf(versions, capacity);
+			ages = Arrays.copyOf(ages, capacity);
+			incomes = Arrays.copyOf(incomes, capacity);
+			nameRefs = Arrays.copyOf(nameRefs, capacity);
+		}
+		ids[size] = id;
+		versions[size] = version;
+		ages[size] = age;
+		incomes[size] = income;
+		nameRefs[size] = nameRef(name);
+		rowsById.put(id, size);
+		size++;
+	}
+
+	private int nameRef(String name) {
+		Integer ref = nameIndex.get(name);
+		if (ref != null) {
+			return ref;
+		}
+		if (nameCount == names.length) {
+			names = Arrays.copyOf(names, nameCount << 1);
+		}
+		names[nameCount] = name;
+		nameIndex.put(name, nameCount);
+		return nameCount++;
+	}
+
+	// Reescreve as colunas sem as linhas removidas e descarta nomes que ficaram sem uso
+	private void compact() {
+		long[] oldIds = ids;
+		long[] oldVersions = versions;
+		int[] oldAges = ages;
+		double[] oldIncomes = incomes;
+		int[] oldNameRefs = nameRefs;
+		String[] oldNames = names;
+		int oldSize = size;
+		int capacity = Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(1, oldSize - deleted)) << 1);
+
+		ids = new long[capacity];
+		versions = new long[capacity];
+		ages = new int[capacity];
+		incomes = new double[capacity];
+		nameRefs = new int[capacity];
+		names = new String[capacity];
+		size = 0;
+		deleted = 0;
+		nameCount = 0;
+		nameIndex.clear();
+		rowsById.clear();
+
+		for (int i = 0; i < oldSize; i++) {
+			if (oldNameRefs[i] != REMOVED) {
+				ids[size] = oldIds[i];
+				versions[size] = oldVersions[i];
+				ages[size] = oldAges[i];
+				incomes[size] = oldIncomes[i];
+				nameRefs[size] = nameRef(oldNames[oldNameRefs[i]]);
+				rowsById.put(oldIds[i], size);
+				size++;
+			}
+		}
+	}
+
+	private void clear() {
+		size = 0;
+		deleted = 0;
+		nameCount = 0;
+		nameIndex.clear();
+		rowsById.clear();
+		deletedIds.clear();
+		loaded = false;
+	}
+
+	private static long versionOf(NeurotechClient client) {
+		return client.getVersion() == null ? 0L : client.getVersion();
+	}
+
+	private void afterCommit(Runnable action) {
+		if (!enabled) {
+			return;
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		} else {
+			action.run();
+		}
+	}
+}
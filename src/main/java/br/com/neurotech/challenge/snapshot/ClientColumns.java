@@ -0,0 +1,18 @@
+package br.com.neurotech.challenge.snapshot;
+
+// Visão somente leitura das colunas do snapshot, válida apenas dentro de ClientColumnStore.read
+public record ClientColumns(int size, long[] ids, int[] ages, double[] incomes, int[] nameRefs, String[] names) {
+
+	// Linhas removidas (renda NaN) ou sem idade não participam de nenhuma análise
+	public boolean isScannable(int row) {
+		return isScannable(ages[row], incomes[row]);
+	}
+
+	public static boolean isScannable(int age, double income) {
+		return age >= 0 && income == income;
+	}
+
+	public String name(int row) {
+		return names[nameRefs[row]];
+	}
+}
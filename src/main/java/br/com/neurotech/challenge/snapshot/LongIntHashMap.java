@@ -0,0 +1,141 @@
+package br.com.neurotech.challenge.snapshot;
+
+import java.util.Arrays;
+
+// Mapa long -> int com endereçamento aberto (sondagem linear), sem boxing. Não é thread-safe.
+// Usado pelo snapshot colunar e pelo índice de verificações por cliente do log de crédito.
+public final class LongIntHashMap {
+
+	public static final int MISSING = -1;
+
+	private static final long EMPTY = 0L;
+	private static final float LOAD_FACTOR = 0.5f;
+
+	private long[] keys;
+	private int[] values;
+	private int size;
+	private boolean hasZeroKey;
+	private int zeroValue;
+
+	public LongIntHashMap(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+		keys = new long[capacity];
+		values = new int[capacity];
+	}
+
+	public int get(long key) {
+		if (key == EMPTY) {
+			return hasZeroKey ? zeroValue : MISSING;
+		}
+		int mask = keys.length - 1;
+		for (int slot = slot(key, mask); ; slot = (slot + 1) & mask) {
+			long current = keys[slot];
+			if (current == key) {
+				return values[slot];
+			}
+			if (current == EMPTY) {
+				return MISSING;
+			}
+		}
+	}
+
+	public void put(long key, int value) {
+		if (key == EMPTY) {
+			if (!hasZeroKey) {
+				size++;
+			}
+			hasZeroKey = true;
+			zeroValue = value;
+			return;
+		}
+		if (size + 1 > keys.length * LOAD_FACTOR) {
+			rehash(keys.length << 1);
+		}
+		int mask = keys.length - 1;
+		for (int slot = slot(key, mask); ; slot = (slot + 1) & mask) {
+			long current = keys[slot];
+			if (current == key) {
+				values[slot] = value;
+				return;
+			}
+			if (current == EMPTY) {
+				keys[slot] = key;
+				values[slot] = value;
+				size++;
+				return;
+			}
+		}
+	}
+
+	public int remove(long key) {
+		if (key == EMPTY) {
+			if (!hasZeroKey) {
+				return MISSING;
+			}
+			hasZeroKey = false;
+			size--;
+			return zeroValue;
+		}
+		int mask = keys.length - 1;
+		for (int slot = slot(key, mask); ; slot = (slot + 1) & mask) {
+			long current = keys[slot];
+			if (current == EMPTY) {
+				return MISSING;
+			}
+			if (current == key) {
+				int value = values[slot];
+				shiftBack(slot, mask);
+				size--;
+				return value;
+			}
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void clear() {
+		Arrays.fill(keys, EMPTY);
+		size = 0;
+		hasZeroKey = false;
+	}
+
+	// Remoção com deslocamento para trás: mantém as cadeias de sondagem sem marcadores de remoção
+	private void shiftBack(int gap, int mask) {
+		for (int slot = (gap + 1) & mask; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+			int home = slot(keys[slot], mask);
+			boolean movable = gap <= slot ? (home <= gap || home > slot) : (home <= gap && home > slot);
+			if (movable) {
+				keys[gap] = keys[slot];
+				values[gap] = values[slot];
+				gap = slot;
+			}
+		}
+		keys[gap] = EMPTY;
+	}
+
+	private void rehash(int capacity) {
+		long[] oldKeys = keys;
+		int[] oldValues = values;
+		keys = new long[capacity];
+		values = new int[capacity];
+		int mask = capacity - 1;
+		for (int i = 0; i < oldKeys.length; i++) {
+			long key = oldKeys[i];
+			if (key != EMPTY) {
+				int slot = slot(key, mask);
+				while (keys[slot] != EMPTY) {
+					slot = (slot + 1) & mask;
+				}
+				keys[slot] = key;
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+
+	private static int slot(long key, int mask) {
+		long hash = key * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32)) & mask;
+	}
+}
@@ -0,0 +1,100 @@
+package br.com.neurotech.challenge.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, Integer> flight = new SingleFlight<>(Duration.ofSeconds(5));
+
+    @Test
+    void execute_ShouldShareOneExecutionBetweenConcurrentCallers() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<Integer> leader = executor.submit(() -> flight.execute("client-1", () -> {
+                executions.incrementAndGet();
+                started.countDown();
+                await(release);
+                return 42;
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            List<Future<Integer>> followers = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                followers.add(executor.submit(() -> flight.execute("client-1", executions::incrementAndGet)));
+            }
+            while (flight.coalescedCount() < 7) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertEquals(42, leader.get(5, TimeUnit.SECONDS));
+            for (Future<Integer> follower : followers) {
+                assertEquals(42, follower.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, executions.get());
+            assertEquals(0, flight.inFlight());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_ShouldPropagateFailureAndForgetIt() {
+        assertThrows(IllegalStateException.class, () -> flight.execute("client-2", () -> {
+            throw new IllegalStateException("banco indisponível");
+        }));
+
+        assertEquals(0, flight.inFlight());
+        assertEquals(7, flight.execute("client-2", () -> 7));
+    }
+
+    @Test
+    void execute_ShouldRunOwnWorkAfterTimeout() throws Exception {
+        SingleFlight<String, Integer> shortFlight = new SingleFlight<>(Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> stuck = executor.submit(() -> shortFlight.execute("client-3", () -> {
+                started.countDown();
+                await(release);
+                return 1;
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            assertEquals(2, shortFlight.execute("client-3", () -> 2));
+            assertEquals(1, shortFlight.timeoutCount());
+            // A chamada presa saiu do mapa: a próxima não espera por ela
+            assertEquals(0, shortFlight.inFlight());
+
+            release.countDown();
+            assertEquals(1, stuck.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.neurotech.challenge.config;
+
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.repositories.ClientRepository;
+import br.com.neurotech.challenge.repositories.PortfolioStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReadOnlyDatabaseConfigurationTest {
+
+    @Test
+    void readOnly_ShouldRejectEveryRepositoryCallWithServiceUnavailable() {
+        ClientRepository repository = mock(ClientRepository.class);
+        ClientRepository readOnly = (ClientRepository) ReadOnlyDatabaseConfiguration.readOnly(repository);
+
+        ResponseStatusException saved = assertThrows(ResponseStatusException.class,
+                () -> readOnly.save(NeurotechClient.builder().name("Ana").build()));
+        ResponseStatusException found = assertThrows(ResponseStatusException.class, () -> readOnly.findById(1L));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, saved.getStatusCode());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, found.getStatusCode());
+        // Métodos de Object continuam respondendo (logs, depuração)
+        assertNotNull(readOnly.toString());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void readOnly_ShouldKeepClassBasedRepositoriesInjectableByType() {
+        Object readOnly = ReadOnlyDatabaseConfiguration.readOnly(new PortfolioStatsRepository(mock(JdbcTemplate.class)));
+
+        PortfolioStatsRepository repository = assertInstanceOf(PortfolioStatsRepository.class, readOnly);
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> repository.aggregate(null, new int[0], 2500, 8));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatusCode());
+    }
+}
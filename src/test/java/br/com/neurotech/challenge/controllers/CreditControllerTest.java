@@ -1,24 +1,39 @@
 package br.com.neurotech.challenge.controllers;
 
+import br.com.neurotech.challenge.dtos.ApiMediaTypes;
+import br.com.neurotech.challenge.dtos.CreditBatchResultDto;
+import br.com.neurotech.challenge.dtos.CreditCheckRequestDto;
 import br.com.neurotech.challenge.dtos.CreditCheckResponseDto;
+import br.com.neurotech.challenge.dtos.EligibleClientDto;
+import br.com.neurotech.challenge.dtos.LeanCreditCheckDto;
+import br.com.neurotech.challenge.entity.CreditCheckStatus;
 import br.com.neurotech.challenge.entity.VehicleModel;
-import br.com.neurotech.challenge.exceptions.ClientNotEligibleForCreditException;
 import br.com.neurotech.challenge.service.CreditService;
+import br.com.neurotech.challenge.service.EligibilityScanService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class CreditControllerTest {
 
     private final CreditService creditService = mock(CreditService.class);
-    private final CreditController creditController = new CreditController(creditService);
+    private final CreditController creditController = new CreditController(creditService, new JsonStreaming(new ObjectMapper()),
+            new LinkTemplates(true), mock(EligibilityScanService.class));
 
     @Test
     void testCheckCredit_Success() {
@@ -44,7 +59,7 @@ class CreditControllerTest {
         String errorMessage = "Cliente não é elegível para crédito para veículo do tipo SUV.";
 
         when(creditService.checkCredit(clientId, model))
-                .thenThrow(new ClientNotEligibleForCreditException(errorMessage));
+                .thenReturn(new CreditCheckResponseDto(clientId, null, model.name(), false, errorMessage));
 
         ResponseEntity<CreditCheckResponseDto> response = creditController.checkCredit(clientId, model);
 
@@ -70,6 +85,20 @@ class CreditControllerTest {
         verify(creditService, times(1)).checkCredit(clientId, model);
     }
 
+    @Test
+    void testCheckCreditLean_ReturnsRecordWithSameStatus() {
+        when(creditService.checkCredit(4L, VehicleModel.SUV))
+                .thenReturn(new CreditCheckResponseDto(4L, null, "SUV", false,
+                        "Cliente não é elegível para crédito para veículo do tipo SUV."));
+
+        ResponseEntity<LeanCreditCheckDto> response = creditController.checkCreditLean(4L, VehicleModel.SUV);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(ApiMediaTypes.LEAN_JSON, response.getHeaders().getContentType());
+        assertEquals(new LeanCreditCheckDto(4L, null, "SUV", false,
+                "Cliente não é elegível para crédito para veículo do tipo SUV."), response.getBody());
+    }
+
     @Test
     void testGetEligibleClientsForHatch_Success() {
         List<Map<String, Object>> eligibleClients = List.of(
@@ -85,4 +114,48 @@ class CreditControllerTest {
         assertEquals(eligibleClients, response.getBody());
         verify(creditService, times(1)).findEligibleClientsForHatch();
     }
+
+    @Test
+    void testCheckCreditBatch_StreamsOneLinePerResult() throws Exception {
+        List<CreditCheckRequestDto> requests = List.of(
+                new CreditCheckRequestDto(1L, VehicleModel.HATCH),
+                new CreditCheckRequestDto(99L, VehicleModel.SUV)
+        );
+
+        doAnswer(invocation -> {
+            Consumer<CreditBatchResultDto> results = invocation.getArgument(1);
+            results.accept(new CreditBatchResultDto(1L, "John Doe", "HATCH", CreditCheckStatus.ELIGIBLE, true,
+                    "Apto para crédito automotivo na modalidade: Crédito com Juros Fixos (5% a.a)"));
+            results.accept(new CreditBatchResultDto(99L, null, "SUV", CreditCheckStatus.NOT_FOUND, false,
+                    "Cliente não encontrado"));
+            return null;
+        }).when(creditService).checkCreditBatch(eq(requests), any());
+
+        ResponseEntity<StreamingResponseBody> response = creditController.checkCreditBatch(requests);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"status\":\"ELIGIBLE\""));
+        assertTrue(lines[1].contains("\"status\":\"NOT_FOUND\""));
+    }
+
+    @Test
+    void testGetEligibleClientsForHatchStreamed_WritesJsonArray() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<EligibleClientDto> results = invocation.getArgument(0);
+            results.accept(new EligibleClientDto("John Doe", 10000.0));
+            results.accept(new EligibleClientDto("Jane Smith", 12000.0));
+            return null;
+        }).when(creditService).streamEligibleHatchClients(any());
+
+        ResponseEntity<StreamingResponseBody> response = creditController.getEligibleClientsForHatchStreamed();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        assertEquals("[{\"name\":\"John Doe\",\"income\":10000.0},{\"name\":\"Jane Smith\",\"income\":12000.0}]",
+                output.toString(StandardCharsets.UTF_8));
+    }
 }
@@ -0,0 +1,62 @@
+package br.com.neurotech.challenge.controllers;
+
+import br.com.neurotech.challenge.entity.VehicleModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LinkTemplatesTest {
+
+    private final LinkTemplates links = new LinkTemplates(true);
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void clientLocation_ShouldExpandMappingWithRequestBaseUrl() {
+        bindRequest(new MockHttpServletRequest());
+
+        assertEquals("http://localhost/api/neurotech-clients/42", links.clientLocation(42L).getFirst(HttpHeaders.LOCATION));
+    }
+
+    @Test
+    void creditCheckLocation_ShouldIncludeModelQueryParameter() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setServerPort(8080);
+        bindRequest(request);
+
+        assertEquals("http://localhost:8080/api/credit/client/7/automotive?model=SUV",
+                links.creditCheckLocation(7L, VehicleModel.SUV).getFirst(HttpHeaders.LOCATION));
+    }
+
+    @Test
+    void location_ShouldBeOmittedWhenCallerOptsOut() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(LinkTemplates.OMIT_LINKS_HEADER, "true");
+        bindRequest(request);
+
+        assertTrue(links.clientLocation(1L).isEmpty());
+        assertTrue(links.location("/api/neurotech-clients").isEmpty());
+    }
+
+    @Test
+    void location_ShouldBeOmittedWhenDisabled() {
+        assertTrue(new LinkTemplates(false).creditCheckLocation(1L, VehicleModel.HATCH).isEmpty());
+    }
+
+    @Test
+    void compile_ShouldRejectUnbalancedTemplate() {
+        assertThrows(IllegalArgumentException.class, () -> LinkTemplate.compile("/api/{id"));
+    }
+
+    private static void bindRequest(MockHttpServletRequest request) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
@@ -1,16 +1,27 @@
 package br.com.neurotech.challenge.controllers;
 
+import br.com.neurotech.challenge.dtos.ClientImportReportDto;
+import br.com.neurotech.challenge.dtos.ClientPageDto;
 import br.com.neurotech.challenge.dtos.NeurotechClientDto;
+import br.com.neurotech.challenge.service.ClientImportService;
 import br.com.neurotech.challenge.service.ClientService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -23,6 +34,15 @@ class NeurotechClientControllerTest {
     @Mock
     private ClientService service;
 
+    @Mock
+    private ClientImportService importService;
+
+    @Spy
+    private LinkTemplates links = new LinkTemplates(true);
+
+    @Spy
+    private JsonStreaming jsonStreaming = new JsonStreaming(new ObjectMapper());
+
     private NeurotechClientDto clientDto;
 
     @BeforeEach
@@ -42,22 +62,56 @@ class NeurotechClientControllerTest {
         verify(service, times(1)).findAll();
     }
 
+    @Test
+    void getClientsPage_ShouldReturnPageWithCursor() {
+        when(service.findPage(null, 1)).thenReturn(new ClientPageDto(List.of(clientDto), 1L));
+
+        ResponseEntity<ClientPageDto> response = controller.getClientsPage(1, null);
+
+        assertNotNull(response);
+        assertEquals(1, response.getBody().getContent().size());
+        assertEquals(Long.valueOf(1L), response.getBody().getNextCursor());
+        verify(service, times(1)).findPage(null, 1);
+    }
+
+    @Test
+    void streamClientsPage_ShouldWriteLinesAndReturnCursorInHeader() throws IOException {
+        NeurotechClientDto second = new NeurotechClientDto(2L, "Jane Smith", 25, 7000.0);
+        when(service.findPage(null, 2)).thenReturn(new ClientPageDto(List.of(clientDto, second), 2L));
+
+        ResponseEntity<StreamingResponseBody> response = controller.streamClientsPage(2, null);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertEquals("2", response.getHeaders().getFirst(NeurotechClientController.NEXT_CURSOR_HEADER));
+        assertEquals(2, output.toString(StandardCharsets.UTF_8).split("\n").length);
+    }
+
+    @Test
+    void streamClientsPage_ShouldOmitCursorHeaderOnLastPage() {
+        when(service.findPage(2L, 2)).thenReturn(new ClientPageDto(List.of(clientDto), null));
+
+        ResponseEntity<StreamingResponseBody> response = controller.streamClientsPage(2, 2L);
+
+        assertNull(response.getHeaders().getFirst(NeurotechClientController.NEXT_CURSOR_HEADER));
+    }
+
     @Test
     void getClientById_ShouldReturnClient() {
         when(service.findById(1L)).thenReturn(clientDto);
-        when(service.getHateoasLinks(1L)).thenReturn(Map.of("self", "/api/neurotech-clients/1"));
 
         ResponseEntity<NeurotechClientDto> response = controller.getClientById(1L);
 
         assertNotNull(response);
         assertEquals("John Doe", response.getBody().getName());
+        assertEquals("/api/neurotech-clients/1", response.getHeaders().getLocation().toString());
         verify(service, times(1)).findById(1L);
     }
 
     @Test
     void createClient_ShouldReturnCreatedClient() {
         when(service.create(clientDto)).thenReturn(clientDto);
-        when(service.getHateoasLinks(1L)).thenReturn(Map.of("self", "/api/neurotech-clients/1"));
 
         ResponseEntity<NeurotechClientDto> response = controller.createClient(clientDto);
 
@@ -70,7 +124,6 @@ class NeurotechClientControllerTest {
     @Test
     void updateClient_ShouldReturnUpdatedClient() {
         when(service.update(1L, clientDto)).thenReturn(clientDto);
-        when(service.getHateoasLinks(1L)).thenReturn(Map.of("self", "/api/neurotech-clients/1"));
 
         ResponseEntity<NeurotechClientDto> response = controller.updateClient(1L, clientDto);
 
@@ -80,9 +133,33 @@ class NeurotechClientControllerTest {
         verify(service, times(1)).update(1L, clientDto);
     }
 
+    @Test
+    void patchClient_ShouldReturnNoContent() {
+        NeurotechClientDto changes = NeurotechClientDto.builder().income(9000.0).build();
+
+        ResponseEntity<Void> response = controller.patchClient(1L, changes);
+
+        assertEquals(204, response.getStatusCodeValue());
+        verify(service, times(1)).patch(1L, changes);
+    }
+
     @Test
     void deleteClient_ShouldCallServiceDelete() {
-        controller.deleteClient(1L);
+        ResponseEntity<Void> response = controller.deleteClient(1L);
+
+        assertNull(response.getHeaders().getLocation());
         verify(service, times(1)).delete(1L);
     }
+
+    @Test
+    void importClientsCsv_ShouldReturnImportReport() {
+        InputStream body = new ByteArrayInputStream("name,age,income\nJohn Doe,30,5000\n".getBytes(StandardCharsets.UTF_8));
+        when(importService.importCsv(body)).thenReturn(new ClientImportReportDto(1, 1, 0, List.of(), false));
+
+        ResponseEntity<ClientImportReportDto> response = controller.importClientsCsv(body);
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(1, response.getBody().getImported());
+        verify(importService, times(1)).importCsv(body);
+    }
 }
@@ -0,0 +1,90 @@
+package br.com.neurotech.challenge.repositories;
+
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ClientRepositoryTest {
+
+    @Autowired
+    private ClientRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void replaceById_ShouldOverwriteAllFieldsAndBumpVersion() {
+        NeurotechClient saved = save("Ana", 30, 5000.0);
+        long version = saved.getVersion();
+
+        assertEquals(1, repository.replaceById(saved.getId(), "Ana Maria", 31, 6000.0));
+
+        NeurotechClient reloaded = reload(saved.getId());
+        assertEquals("Ana Maria", reloaded.getName());
+        assertEquals(31, reloaded.getAge());
+        assertEquals(6000.0, reloaded.getIncome());
+        assertEquals(version + 1, reloaded.getVersion());
+    }
+
+    @Test
+    void patchById_ShouldKeepFieldsPassedAsNull() {
+        NeurotechClient saved = save("Ana", 30, 5000.0);
+        long version = saved.getVersion();
+
+        assertEquals(1, repository.patchById(saved.getId(), null, 35, null));
+
+        NeurotechClient reloaded = reload(saved.getId());
+        assertEquals("Ana", reloaded.getName());
+        assertEquals(35, reloaded.getAge());
+        assertEquals(5000.0, reloaded.getIncome());
+        assertEquals(version + 1, reloaded.getVersion());
+    }
+
+    @Test
+    void patchById_ShouldBumpVersionEvenWithoutChanges() {
+        NeurotechClient saved = save("Ana", 30, 5000.0);
+
+        assertEquals(1, repository.patchById(saved.getId(), null, null, null));
+        assertEquals(1, repository.patchById(saved.getId(), null, null, null));
+
+        assertEquals(saved.getVersion() + 2, reload(saved.getId()).getVersion());
+        assertEquals(saved.getVersion() + 2, repository.findVersionById(saved.getId()));
+    }
+
+    @Test
+    void modifyingQueries_ShouldReturnZeroForUnknownId() {
+        save("Ana", 30, 5000.0);
+
+        assertEquals(0, repository.replaceById(-1L, "Bia", 25, 4000.0));
+        assertEquals(0, repository.patchById(-1L, "Bia", null, null));
+        assertEquals(0, repository.removeById(-1L));
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void removeById_ShouldDeleteRow() {
+        NeurotechClient saved = save("Ana", 30, 5000.0);
+
+        assertEquals(1, repository.removeById(saved.getId()));
+
+        entityManager.clear();
+        assertFalse(repository.existsById(saved.getId()));
+    }
+
+    private NeurotechClient save(String name, int age, double income) {
+        NeurotechClient client = repository.saveAndFlush(NeurotechClient.builder().name(name).age(age).income(income).build());
+        entityManager.clear();
+        return client;
+    }
+
+    // Os UPDATE/DELETE em JPQL não passam pelo contexto de persistência: limpa antes de reler do banco
+    private NeurotechClient reload(Long id) {
+        entityManager.clear();
+        return repository.findById(id).orElseThrow();
+    }
+}
@@ -0,0 +1,154 @@
+package br.com.neurotech.challenge.repositories;
+
+import br.com.neurotech.challenge.entity.ClientSnapshot;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MappedClientStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private final ClientRepository repository = mock(ClientRepository.class);
+    private final JpaClientStore jpaStore =
+            new JpaClientStore(repository, mock(EntityManager.class), mock(PlatformTransactionManager.class));
+
+    @Test
+    void export_ShouldServeLookupsAndScansFromMappedFile() throws IOException {
+        List<NeurotechClient> clients = new ArrayList<>();
+        for (long id = 1; id <= 5000; id++) {
+            clients.add(client(id * 7, "Cliente " + id, 18 + (int) (id % 60), id * 10.5));
+        }
+        clients.add(client(0L, "José Ação", 40, 7000.0));
+        clients.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+        when(repository.streamAllOrderedById()).thenReturn(clients.stream());
+        Path file = directory.resolve("clients.bin");
+
+        assertEquals(5001, MappedClientStore.export(jpaStore, file));
+        MappedClientStore store = new MappedClientStore(file.toString());
+
+        assertEquals(5001, store.count());
+        assertEquals(new ClientSnapshot(0L, 3L, "José Ação", 40, 7000.0), store.findById(0L));
+        assertEquals(new ClientSnapshot(35L, 3L, "Cliente 5", 23, 52.5), store.findById(35L));
+        assertNull(store.findById(36L));
+
+        Map<Long, ClientSnapshot> found = store.findAllById(List.of(7L, 8L, 35000L));
+        assertEquals(2, found.size());
+        assertEquals("Cliente 5000", found.get(35000L).name());
+
+        List<Long> ids = new ArrayList<>();
+        store.forEach(row -> ids.add(row.id()));
+        assertEquals(5001, ids.size());
+        assertEquals(0L, ids.get(0));
+        assertEquals(35000L, ids.get(5000));
+    }
+
+    @Test
+    void reloadIfModified_ShouldSwapToNewExportAndNotifyListeners() throws IOException {
+        Path file = directory.resolve("clients.bin");
+        when(repository.streamAllOrderedById()).thenReturn(List.of(client(1L, "Ana", 30, 5000.0)).stream());
+        MappedClientStore.export(jpaStore, file);
+        MappedClientStore store = new MappedClientStore(file.toString());
+        AtomicInteger reloads = new AtomicInteger();
+        store.addReloadListener(reloads::incrementAndGet);
+
+        store.reloadIfModified();
+        assertEquals(0, reloads.get());
+
+        when(repository.streamAllOrderedById())
+                .thenReturn(List.of(client(1L, "Ana", 31, 6000.0), client(2L, "Bia", 25, 4000.0)).stream());
+        MappedClientStore.export(jpaStore, file);
+        // Garante uma data diferente mesmo em sistemas de arquivos com resolução de segundos
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+        store.reloadIfModified();
+
+        assertEquals(1, reloads.get());
+        assertEquals(2, store.count());
+        assertEquals(31, store.findById(1L).age());
+        assertEquals("Bia", store.findById(2L).name());
+    }
+
+    @Test
+    void forEachAfter_ShouldStartAfterCursorInIdOrder() throws IOException {
+        List<NeurotechClient> clients = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            clients.add(client(id * 10, "Cliente " + id, 30, 5000.0));
+        }
+        when(repository.streamAllOrderedById()).thenReturn(clients.stream());
+        Path file = directory.resolve("clients.bin");
+        MappedClientStore.export(jpaStore, file);
+        MappedClientStore store = new MappedClientStore(file.toString());
+
+        assertEquals(List.of(10L, 20L), page(store, Long.MIN_VALUE, 2));
+        // Cursor entre dois IDs existentes continua no próximo
+        assertEquals(List.of(260L, 270L, 280L), page(store, 255L, 3));
+        assertEquals(List.of(1000L), page(store, 990L, 5));
+        assertTrue(page(store, 1000L, 5).isEmpty());
+    }
+
+    @Test
+    void findInAgeAndIncomeRange_ShouldMatchInclusiveBoundsInIdOrder() throws IOException {
+        when(repository.streamAllOrderedById()).thenReturn(List.of(
+                client(1L, "Ana", 23, 5000.0),
+                client(2L, "Bia", 22, 6000.0),
+                client(3L, "Caio", 49, 15000.0),
+                client(4L, "Duda", 30, 15000.01),
+                NeurotechClient.builder().id(5L).name("Eva").version(1L).build(),
+                client(6L, "Fabio", 35, 8000.0)).stream());
+        Path file = directory.resolve("clients.bin");
+        MappedClientStore.export(jpaStore, file);
+        MappedClientStore store = new MappedClientStore(file.toString());
+
+        assertEquals(List.of(new ClientIncomeRow("Ana", 23, 5000.0), new ClientIncomeRow("Caio", 49, 15000.0),
+                        new ClientIncomeRow("Fabio", 35, 8000.0)),
+                store.findInAgeAndIncomeRange(23, 49, 5000.0, 15000.0));
+        List<String> names = new ArrayList<>();
+        store.forEachInAgeAndIncomeRange(30, 40, 0.0, 10000.0, row -> names.add(row.name()));
+        assertEquals(List.of("Fabio"), names);
+    }
+
+    @Test
+    void reactiveFindById_ShouldReadFromMappedFile() throws IOException {
+        when(repository.streamAllOrderedById()).thenReturn(List.of(client(1L, "Ana", 30, 5000.0)).stream());
+        Path file = directory.resolve("clients.bin");
+        MappedClientStore.export(jpaStore, file);
+        MappedReactiveClientStore store = new MappedReactiveClientStore(new MappedClientStore(file.toString()));
+
+        assertEquals(new ClientSnapshot(1L, 3L, "Ana", 30, 5000.0), store.findById(1L).block());
+        assertNull(store.findById(2L).block());
+    }
+
+    @Test
+    void open_ShouldRejectFileInUnknownFormat() throws IOException {
+        Path file = directory.resolve("clients.bin");
+        Files.write(file, new byte[MappedClientStore.HEADER_BYTES]);
+
+        assertThrows(IllegalStateException.class, () -> new MappedClientStore(file.toString()));
+    }
+
+    private static List<Long> page(MappedClientStore store, long afterId, int limit) {
+        List<Long> ids = new ArrayList<>();
+        store.forEachAfter(afterId, limit, row -> ids.add(row.id()));
+        return ids;
+    }
+
+    private static NeurotechClient client(Long id, String name, int age, double income) {
+        return NeurotechClient.builder().id(id).name(name).age(age).income(income).version(3L).build();
+    }
+}
@@ -0,0 +1,187 @@
+package br.com.neurotech.challenge.repositories;
+
+import br.com.neurotech.challenge.entity.CreditCheckRecord;
+import br.com.neurotech.challenge.entity.CreditCheckStatus;
+import br.com.neurotech.challenge.entity.CreditDecision;
+import br.com.neurotech.challenge.entity.CreditModality;
+import br.com.neurotech.challenge.entity.CreditRejectionReason;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedCreditRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void append_ShouldRollOverSegmentsAndScanInOrder() throws IOException {
+        MappedCreditRepository log = new MappedCreditRepository(directory.toString(), 4, 0, "", 20, true);
+        for (long id = 0; id < 10; id++) {
+            assertEquals(id, log.append(id, VehicleModel.HATCH, CreditDecision.approved(CreditModality.FIXED_INTEREST)));
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(3, files.count());
+        }
+        List<Long> clients = new ArrayList<>();
+        log.scan(Long.MIN_VALUE, Long.MAX_VALUE, record -> clients.add(record.clientId()));
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L), clients);
+        assertEquals(10, log.count());
+    }
+
+    @Test
+    void open_ShouldContinueAfterLastCompleteRecord() {
+        MappedCreditRepository log = new MappedCreditRepository(directory.toString(), 4, 0, "", 20, true);
+        log.append(1L, VehicleModel.SUV, CreditDecision.rejected(CreditModality.VARIABLE_INTEREST, CreditRejectionReason.SUV_REQUIREMENTS_NOT_MET));
+        log.appendNotFound(2L, VehicleModel.HATCH);
+        log.close();
+
+        MappedCreditRepository reopened = new MappedCreditRepository(directory.toString(), 4, 0, "", 20, true);
+        assertEquals(2, reopened.count());
+        assertEquals(2L, reopened.append(1L, VehicleModel.HATCH, CreditDecision.approved(CreditModality.VARIABLE_INTEREST)));
+
+        List<CreditCheckRecord> history = reopened.findLatestByClientId(1L, 10);
+        assertEquals(2, history.size());
+        assertEquals(CreditCheckStatus.ELIGIBLE, history.get(0).status());
+        assertEquals(VehicleModel.HATCH, history.get(0).model());
+        CreditCheckRecord rejected = history.get(1);
+        assertEquals(CreditCheckStatus.NOT_ELIGIBLE, rejected.status());
+        assertEquals(CreditModality.VARIABLE_INTEREST, rejected.modality());
+        assertEquals(CreditRejectionReason.SUV_REQUIREMENTS_NOT_MET, rejected.rejectionReason());
+
+        CreditCheckRecord notFound = reopened.findLatestByClientId(2L, 1).get(0);
+        assertEquals(CreditCheckStatus.NOT_FOUND, notFound.status());
+        assertNull(notFound.modality());
+        assertNull(notFound.rejectionReason());
+    }
+
+    @Test
+    void findLatestByClientId_ShouldKeepOnlyMostRecent() {
+        MappedCreditRepository log = new MappedCreditRepository(directory.toString(), 3, 0, "", 20, true);
+        for (int i = 0; i < 7; i++) {
+            log.append(i % 2, VehicleModel.SUV, CreditDecision.approved(CreditModality.PAYROLL_DEDUCTED));
+        }
+
+        List<CreditCheckRecord> latest = log.findLatestByClientId(0L, 2);
+
+        assertEquals(List.of(6L, 4L), latest.stream().map(CreditCheckRecord::sequence).toList());
+    }
+
+    @Test
+    void findLatestByClientId_ShouldWalkBackBeyondIndexDepth() {
+        // Índice com só 2 verificações por cliente: a terceira em diante vem do log, a partir da mais antiga indexada
+        MappedCreditRepository log = new MappedCreditRepository(directory.toString(), 3, 0, "", 2, true);
+        for (int i = 0; i < 10; i++) {
+            log.append(i % 3, VehicleModel.SUV, CreditDecision.approved(CreditModality.PAYROLL_DEDUCTED));
+        }
+
+        assertEquals(List.of(9L, 6L), sequences(log.findLatestByClientId(0L, 2)));
+        assertEquals(List.of(9L, 6L, 3L), sequences(log.findLatestByClientId(0L, 3)));
+        assertEquals(List.of(9L, 6L, 3L, 0L), sequences(log.findLatestByClientId(0L, 50)));
+        assertEquals(List.of(7L, 4L, 1L), sequences(log.findLatestByClientId(1L, 50)));
+        assertTrue(log.findLatestByClientId(42L, 50).isEmpty());
+    }
+
+    @Test
+    void open_ShouldRebuildClientIndexFromLog() {
+        MappedCreditRepository log = new MappedCreditRepository(directory.toString(), 3, 0, "", 2, true);
+        for (int i = 0; i < 8; i++) {
+            log.append(i % 2, VehicleModel.HATCH, CreditDecision.approved(CreditModality.FIXED_INTEREST));
+        }
+        log.close();
+
+        MappedCreditRepository reopened = new MappedCreditRepository(directory.toString(), 3, 0, "", 2, true);
+        reopened.append(1L, VehicleModel.SUV, CreditDecision.approved(CreditModality.PAYROLL_DEDUCTED));
+
+        assertEquals(List.of(8L, 7L), sequences(reopened.findLatestByClientId(1L, 2)));
+        assertEquals(List.of(6L, 4L, 2L, 0L), sequences(reopened.findLatestByClientId(0L, 10)));
+    }
+
+    @Test
+    void rollover_ShouldArchiveSegmentsBeyondRetention() throws IOException {
+        Path logDirectory = directory.resolve("log");
+        Path archive = directory.resolve("archive");
+        MappedCreditRepository log = new MappedCreditRepository(logDirectory.toString(), 2, 2, archive.toString(), 20, true);
+        for (long id = 0; id < 9; id++) {
+            log.append(id % 3, VehicleModel.HATCH, CreditDecision.approved(CreditModality.FIXED_INTEREST));
+        }
+
+        assertEquals(2, fileCount(logDirectory));
+        // Os segmentos que saíram do log continuam inteiros no arquivo morto
+        assertEquals(3, fileCount(archive));
+        assertTrue(Files.exists(archive.resolve(String.format("credit-%019d.log", 0))));
+        assertEquals(3, log.count());
+        List<Long> sequences = new ArrayList<>();
+        log.scan(Long.MIN_VALUE, Long.MAX_VALUE, record -> sequences.add(record.sequence()));
+        assertEquals(List.of(6L, 7L, 8L), sequences);
+        assertEquals(List.of(6L), log.findLatestByClientId(0L, 5).stream().map(CreditCheckRecord::sequence).toList());
+
+        MappedCreditRepository reopened = new MappedCreditRepository(logDirectory.toString(), 2, 2, archive.toString(), 20, true);
+        assertEquals(9L, reopened.append(1L, VehicleModel.SUV, CreditDecision.approved(CreditModality.PAYROLL_DEDUCTED)));
+    }
+
+    @Test
+    void retention_ShouldRequireArchiveDirectory() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MappedCreditRepository(directory.toString(), 2, 2, "", 20, true));
+    }
+
+    @Test
+    void open_ShouldKeepEverySegmentByDefault() throws IOException {
+        MappedCreditRepository log = new MappedCreditRepository(directory.toString(), 2, 0, "", 20, true);
+        for (long id = 0; id < 9; id++) {
+            log.append(id, VehicleModel.HATCH, CreditDecision.approved(CreditModality.FIXED_INTEREST));
+        }
+        log.close();
+
+        MappedCreditRepository reopened = new MappedCreditRepository(directory.toString(), 2, 0, "", 20, true);
+
+        assertEquals(5, fileCount(directory));
+        assertEquals(9, reopened.count());
+    }
+
+    @Test
+    void append_ShouldNeverWriteDecreasingTimestamps() {
+        MappedCreditRepository log = new MappedCreditRepository(directory.toString(), 4, 0, "", 20, true);
+        for (long id = 0; id < 1000; id++) {
+            log.append(id, VehicleModel.SUV, CreditDecision.approved(CreditModality.PAYROLL_DEDUCTED));
+        }
+
+        List<Long> timestamps = new ArrayList<>();
+        log.scan(Long.MIN_VALUE, Long.MAX_VALUE, record -> timestamps.add(record.timestamp()));
+        assertEquals(1000, timestamps.size());
+        for (int i = 1; i < timestamps.size(); i++) {
+            assertTrue(timestamps.get(i) >= timestamps.get(i - 1));
+        }
+    }
+
+    @Test
+    void disabledLog_ShouldIgnoreWrites() throws IOException {
+        Path unused = directory.resolve("unused");
+        MappedCreditRepository log = new MappedCreditRepository(unused.toString(), 4, 0, "", 20, false);
+
+        assertEquals(-1L, log.append(1L, VehicleModel.SUV, CreditDecision.approved(CreditModality.PAYROLL_DEDUCTED)));
+        assertEquals(0, log.count());
+        assertFalse(Files.exists(unused));
+    }
+
+    private static long fileCount(Path path) throws IOException {
+        try (Stream<Path> files = Files.list(path)) {
+            return files.count();
+        }
+    }
+
+    private static List<Long> sequences(List<CreditCheckRecord> records) {
+        return records.stream().map(CreditCheckRecord::sequence).toList();
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.neurotech.challenge.rules;
+
+import br.com.neurotech.challenge.entity.CreditDecision;
+import br.com.neurotech.challenge.entity.CreditModality;
+import br.com.neurotech.challenge.entity.CreditRejectionReason;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CreditRuleEngineTest {
+
+    private static final int[] AGE_BOUNDARIES = {17, 18, 20, 21, 22, 25, 26, 65, 66, 67};
+    private static final double[] INCOME_BOUNDARIES = {0.0, 5000.0, 8000.0, 15000.0};
+
+    private final CreditRuleEngine engine =
+            new CreditRuleEngine(new DefaultResourceLoader(), new ObjectMapper(), "classpath:credit-rules.json");
+
+    @Test
+    void decide_ShouldMatchLegacyRulesOnBoundaries() {
+        for (int age : AGE_BOUNDARIES) {
+            for (double boundary : INCOME_BOUNDARIES) {
+                for (double income : new double[]{Math.nextDown(boundary), boundary, Math.nextUp(boundary)}) {
+                    assertEquivalent(age, income);
+                }
+            }
+        }
+    }
+
+    @Test
+    void decide_ShouldMatchLegacyRulesOnRandomClients() {
+        Random random = new Random(20240501L);
+        for (int i = 0; i < 200_000; i++) {
+            int age = random.nextInt(130) - 5;
+            double income = random.nextBoolean()
+                    ? random.nextDouble() * 30000.0
+                    : Math.round(random.nextDouble() * 300.0) * 100.0;
+            assertEquivalent(age, income);
+        }
+    }
+
+    @Test
+    void reload_ShouldSwapRulesAtomicallyAndKeepCurrentOnInvalidFile(@TempDir Path dir) throws Exception {
+        Path rulesFile = dir.resolve("credit-rules.json");
+        Files.copy(new DefaultResourceLoader().getResource("classpath:credit-rules.json").getInputStream(), rulesFile);
+        CreditRuleEngine fileEngine = new CreditRuleEngine(new DefaultResourceLoader(), new ObjectMapper(),
+                rulesFile.toUri().toString());
+        CompiledCreditRules before = fileEngine.current();
+
+        Files.writeString(rulesFile, Files.readString(rulesFile).replace("\"maxAge\": 25", "\"maxAge\": 30"));
+        fileEngine.reload();
+
+        assertEquals(before.generation() + 1, fileEngine.current().generation());
+        assertEquals(CreditModality.FIXED_INTEREST, fileEngine.current().modalityOf(28, 1000.0));
+        assertNull(before.modalityOf(28, 1000.0));
+
+        Files.writeString(rulesFile, "{ \"modalities\": [] }");
+        assertThrows(IllegalArgumentException.class, fileEngine::reload);
+        assertEquals(CreditModality.FIXED_INTEREST, fileEngine.current().modalityOf(28, 1000.0));
+    }
+
+    private void assertEquivalent(int age, double income) {
+        for (VehicleModel model : VehicleModel.values()) {
+            CreditDecision expected = legacyDecision(age, income, model);
+            CreditDecision actual = engine.decide(age, income, model);
+            assertSame(expected, actual, () -> "age=" + age + ", income=" + income + ", model=" + model);
+        }
+    }
+
+    // Cópia das regras fixas que existiam no CreditService, usada como oráculo
+    private static CreditDecision legacyDecision(int age, double income, VehicleModel model) {
+        CreditModality modality;
+        if (age >= 18 && age <= 25) {
+            modality = CreditModality.FIXED_INTEREST;
+        } else if (age >= 21 && age <= 65 && income >= 5000.00 && income <= 15000.00) {
+            modality = CreditModality.VARIABLE_INTEREST;
+        } else if (age > 65) {
+            modality = CreditModality.PAYROLL_DEDUCTED;
+        } else {
+            return CreditDecision.rejected(null, CreditRejectionReason.NO_CREDIT_MODALITY);
+        }
+
+        if (model == VehicleModel.HATCH && !(income >= 5000.00 && income <= 15000.00)) {
+            return CreditDecision.rejected(modality, CreditRejectionReason.HATCH_REQUIREMENTS_NOT_MET);
+        }
+        if (model == VehicleModel.SUV && !(income > 8000.00 && age > 20)) {
+            return CreditDecision.rejected(modality, CreditRejectionReason.SUV_REQUIREMENTS_NOT_MET);
+        }
+        return CreditDecision.approved(modality);
+    }
+}
@@ -0,0 +1,169 @@
+package br.com.neurotech.challenge.service;
+
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.repositories.ClientRepository;
+import br.com.neurotech.challenge.snapshot.ClientColumnStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class ClientCreateWriterTest {
+
+    private final ClientRepository repository = mock(ClientRepository.class);
+    private final ClientColumnStore columnStore = mock(ClientColumnStore.class);
+    private final AtomicLong ids = new AtomicLong();
+    private ClientCreateWriter writer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void submit_ShouldCompleteEveryCallerWithGeneratedIdInFewTransactions() throws Exception {
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<NeurotechClient> clients = invocation.getArgument(0);
+            clients.forEach(client -> client.setId(ids.incrementAndGet()));
+            return clients;
+        });
+        writer = writer(10_000, 64, Duration.ofMillis(20));
+        writer.start();
+
+        List<CompletableFuture<NeurotechClient>> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            results.add(writer.submit(client("Cliente " + i)));
+        }
+
+        for (CompletableFuture<NeurotechClient> result : results) {
+            assertNotNull(result.get(5, TimeUnit.SECONDS).getId());
+        }
+        assertEquals(200, ids.get());
+        // Lotes de até 64: bem menos transações que cadastros
+        verify(repository, atMost(10)).saveAll(anyList());
+    }
+
+    @Test
+    void submit_ShouldRejectWithServiceUnavailableWhenQueueIsFull() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+        writer = writer(1, 1, Duration.ZERO);
+        writer.start();
+
+        CompletableFuture<NeurotechClient> first = writer.submit(client("Ana"));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        CompletableFuture<NeurotechClient> queued = writer.submit(client("Bia"));
+
+        ResponseStatusException rejected = assertThrows(ResponseStatusException.class, () -> writer.submit(client("Caio")));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+
+        release.countDown();
+        assertEquals("Ana", first.get(5, TimeUnit.SECONDS).getName());
+        assertEquals("Bia", queued.get(5, TimeUnit.SECONDS).getName());
+    }
+
+    @Test
+    void write_ShouldFailOnlyTheBrokenClientWhenBatchFails() {
+        when(repository.saveAll(anyList())).thenThrow(new IllegalStateException("violação de restrição"));
+        when(repository.save(any(NeurotechClient.class))).thenAnswer(invocation -> {
+            NeurotechClient client = invocation.getArgument(0);
+            if (client.getName().isEmpty()) {
+                throw new IllegalStateException("nome vazio");
+            }
+            client.setId(ids.incrementAndGet());
+            return client;
+        });
+        writer = writer(10, 10, Duration.ZERO);
+
+        CompletableFuture<NeurotechClient> ok = new CompletableFuture<>();
+        CompletableFuture<NeurotechClient> broken = new CompletableFuture<>();
+        writer.write(List.of(new ClientCreateWriter.PendingCreate(client("Ana"), ok),
+                new ClientCreateWriter.PendingCreate(client(""), broken)));
+
+        assertEquals(1L, ok.join().getId());
+        ExecutionException failure = assertThrows(ExecutionException.class, broken::get);
+        assertEquals("nome vazio", failure.getCause().getMessage());
+    }
+
+    @Test
+    void submit_ShouldKeepWritingWhenSnapshotUpdateFails() throws Exception {
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new IllegalStateException("snapshot quebrado")).doNothing().when(columnStore).onSaved(anyList());
+        writer = writer(10, 1, Duration.ZERO);
+        writer.start();
+
+        // O lote já foi confirmado no banco: o chamador recebe o cliente mesmo com o snapshot falhando
+        assertEquals("Ana", writer.submit(client("Ana")).get(5, TimeUnit.SECONDS).getName());
+        assertEquals("Bia", writer.submit(client("Bia")).get(5, TimeUnit.SECONDS).getName());
+    }
+
+    @Test
+    void create_ShouldGiveUpWithServiceUnavailableAfterSubmitTimeout() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0);
+        });
+        writer = writer(10, 1, Duration.ZERO, Duration.ofMillis(50));
+        writer.start();
+
+        ResponseStatusException timedOut = assertThrows(ResponseStatusException.class, () -> writer.create(client("Ana")));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, timedOut.getStatusCode());
+        release.countDown();
+    }
+
+    @Test
+    void submit_ShouldRejectAfterStop() throws Exception {
+        writer = writer(10, 10, Duration.ZERO);
+        writer.start();
+        writer.stop();
+
+        ResponseStatusException rejected = assertThrows(ResponseStatusException.class, () -> writer.submit(client("Ana")));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+    }
+
+    @Test
+    void submit_ShouldRejectWhenGroupCommitIsDisabled() {
+        writer = new ClientCreateWriter(repository, mock(PlatformTransactionManager.class), mock(ClientColumnStore.class),
+                false, 10, 10, Duration.ZERO, Duration.ofSeconds(5));
+        writer.start();
+
+        assertFalse(writer.isEnabled());
+        assertThrows(ResponseStatusException.class, () -> writer.submit(client("Ana")));
+    }
+
+    private ClientCreateWriter writer(int queueCapacity, int maxBatch, Duration maxDelay) {
+        return writer(queueCapacity, maxBatch, maxDelay, Duration.ofSeconds(5));
+    }
+
+    private ClientCreateWriter writer(int queueCapacity, int maxBatch, Duration maxDelay, Duration submitTimeout) {
+        return new ClientCreateWriter(repository, mock(PlatformTransactionManager.class), columnStore,
+                true, queueCapacity, maxBatch, maxDelay, submitTimeout);
+    }
+
+    private static NeurotechClient client(String name) {
+        return NeurotechClient.builder().name(name).age(30).income(5000.0).build();
+    }
+}
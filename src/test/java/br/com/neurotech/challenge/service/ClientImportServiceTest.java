@@ -0,0 +1,81 @@
+package br.com.neurotech.challenge.service;
+
+import br.com.neurotech.challenge.dtos.ClientImportReportDto;
+import br.com.neurotech.challenge.repositories.ClientRepository;
+import br.com.neurotech.challenge.snapshot.ClientColumnStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class ClientImportServiceTest {
+
+    private final ClientRepository repository = mock(ClientRepository.class);
+    private final ClientImportService importService =
+            new ClientImportService(repository, mock(PlatformTransactionManager.class), new ObjectMapper(),
+                    mock(ClientColumnStore.class), 2);
+
+    @Test
+    void importCsv_ShouldInsertValidRowsInChunksAndReportInvalidOnes() {
+        String csv = "name,age,income\n" +
+                "John Doe,30,5000\n" +
+                "\"Smith, Jane\",41,12000.50\n" +
+                ",20,1000\n" +
+                "Bob,abc,1000\n" +
+                "Ana,70,9000\n";
+
+        ClientImportReportDto report = importService.importCsv(stream(csv));
+
+        assertEquals(5, report.getReceived());
+        assertEquals(3, report.getImported());
+        assertEquals(2, report.getFailed());
+        assertEquals(4, report.getErrors().get(0).getRow());
+        assertEquals(5, report.getErrors().get(1).getRow());
+        verify(repository, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    void importJson_ShouldReportElementsThatAreNotValidClients() {
+        String json = "[{\"name\":\"John Doe\",\"age\":30,\"income\":5000.0}," +
+                "{\"name\":\"Jane\",\"age\":-1,\"income\":100}," +
+                "42]";
+
+        ClientImportReportDto report = importService.importJson(stream(json));
+
+        assertEquals(3, report.getReceived());
+        assertEquals(1, report.getImported());
+        assertEquals(2, report.getFailed());
+        assertEquals("Idade não pode ser negativa.", report.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void importCsv_ShouldStopWithServiceUnavailableWhenRepositoryRejectsWrites() {
+        ResponseStatusException readOnly = new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Banco somente leitura");
+        when(repository.saveAll(anyList())).thenThrow(readOnly);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> importService.importCsv(stream("John Doe,30,5000\nJane,41,12000\nBob,25,3000\n")));
+
+        assertSame(readOnly, ex);
+        verify(repository).saveAll(anyList());
+    }
+
+    @Test
+    void splitCsvLine_ShouldHandleQuotedFields() {
+        assertEquals(List.of("Jo \"Jr\", Silva", "30", "5000"),
+                ClientImportService.splitCsvLine("\"Jo \"\"Jr\"\", Silva\",30,5000"));
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,256 @@
+package br.com.neurotech.challenge.service;
+
+import br.com.neurotech.challenge.cache.ClientCache;
+import br.com.neurotech.challenge.converters.ClientConverter;
+import br.com.neurotech.challenge.dtos.ClientPageDto;
+import br.com.neurotech.challenge.dtos.NeurotechClientDto;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.exceptions.ClientNotFoundException;
+import br.com.neurotech.challenge.repositories.ClientRepository;
+import br.com.neurotech.challenge.repositories.JpaClientStore;
+import br.com.neurotech.challenge.snapshot.ClientColumnStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ClientServiceTest {
+
+    private final ClientRepository repository = mock(ClientRepository.class);
+    private final JpaClientStore clientStore = new JpaClientStore(repository, null, null);
+    private final ClientCache clientCache = mock(ClientCache.class);
+    private final ClientColumnStore columnStore = mock(ClientColumnStore.class);
+    private final ClientCreateWriter createWriter = mock(ClientCreateWriter.class);
+    private final ClientService service = new ClientService(repository, clientStore, new ClientConverter(),
+            clientCache, columnStore, createWriter, new SimpleMeterRegistry());
+
+    @Test
+    void findPage_ShouldReturnCursorWhenExtraRowExists() {
+        when(repository.findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, PageRequest.of(0, 3))).thenReturn(clients(1, 3));
+
+        ClientPageDto page = service.findPage(null, 2);
+
+        assertEquals(List.of(1L, 2L), page.getContent().stream().map(NeurotechClientDto::getKey).toList());
+        assertEquals(Long.valueOf(2L), page.getNextCursor());
+    }
+
+    @Test
+    void findPage_ShouldEndWithoutCursorWhenPageIsExactlyFull() {
+        when(repository.findByIdGreaterThanOrderByIdAsc(2L, PageRequest.of(0, 3))).thenReturn(clients(3, 2));
+
+        ClientPageDto page = service.findPage(2L, 2);
+
+        assertEquals(2, page.getContent().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void findPage_ShouldReturnEmptyPageAfterLastId() {
+        when(repository.findByIdGreaterThanOrderByIdAsc(9L, PageRequest.of(0, 3))).thenReturn(List.of());
+
+        ClientPageDto page = service.findPage(9L, 2);
+
+        assertTrue(page.getContent().isEmpty());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void findPage_ShouldClampLimitToAllowedRange() {
+        service.findPage(null, 0);
+        service.findPage(null, 50_000);
+
+        verify(repository).findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, PageRequest.of(0, 2));
+        verify(repository).findByIdGreaterThanOrderByIdAsc(Long.MIN_VALUE, PageRequest.of(0, 1001));
+    }
+
+    @Test
+    void findPage_ShouldKeepMissingAgeAndIncomeAsNull() {
+        when(repository.findByIdGreaterThanOrderByIdAsc(5L, PageRequest.of(0, 3))).thenReturn(List.of(
+                NeurotechClient.builder().id(6L).name("Ana").age(30).income(5000.0).build(),
+                NeurotechClient.builder().id(7L).name("Bia").build()));
+
+        ClientPageDto page = service.findPage(5L, 2);
+
+        assertEquals(List.of(6L, 7L), page.getContent().stream().map(NeurotechClientDto::getKey).toList());
+        assertNull(page.getContent().get(1).getAge());
+        assertNull(page.getContent().get(1).getIncome());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void writes_ShouldKeepServiceUnavailableFromReadOnlyRepository() {
+        ResponseStatusException readOnly = new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Banco somente leitura");
+        when(repository.save(any())).thenThrow(readOnly);
+        when(repository.replaceById(1L, "Ana", 30, 5000.0)).thenThrow(readOnly);
+        when(repository.patchById(1L, "Ana", null, null)).thenThrow(readOnly);
+        when(repository.removeById(1L)).thenThrow(readOnly);
+
+        assertSame(readOnly, assertThrows(ResponseStatusException.class,
+                () -> service.create(new NeurotechClientDto(null, "Ana", 30, 5000.0))));
+        assertSame(readOnly, assertThrows(ResponseStatusException.class,
+                () -> service.update(1L, new NeurotechClientDto(null, "Ana", 30, 5000.0))));
+        assertSame(readOnly, assertThrows(ResponseStatusException.class,
+                () -> service.patch(1L, new NeurotechClientDto(null, "Ana", null, null))));
+        assertSame(readOnly, assertThrows(ResponseStatusException.class, () -> service.delete(1L)));
+    }
+
+    @Test
+    void update_ShouldNotReadVersionBackWhenSnapshotIsNotLoaded() {
+        when(repository.replaceById(1L, "Ana", 30, 5000.0)).thenReturn(1);
+
+        service.update(1L, new NeurotechClientDto(null, "Ana", 30, 5000.0));
+
+        verify(repository).replaceById(1L, "Ana", 30, 5000.0);
+        verifyNoMoreInteractions(repository);
+        verify(columnStore, never()).onReplaced(anyLong(), anyLong(), any(), any(), any());
+    }
+
+    @Test
+    void update_ShouldFeedSnapshotWithWrittenVersionWhenLoaded() {
+        when(columnStore.isLoaded()).thenReturn(true);
+        when(repository.replaceById(1L, "Ana", 30, 5000.0)).thenReturn(1);
+        when(repository.findVersionById(1L)).thenReturn(4L);
+
+        service.update(1L, new NeurotechClientDto(null, "Ana", 30, 5000.0));
+
+        verify(columnStore).onReplaced(1L, 4L, "Ana", 30, 5000.0);
+    }
+
+    @Test
+    void patch_ShouldNotReadRowBackWhenSnapshotIsNotLoaded() {
+        when(repository.patchById(1L, null, 35, null)).thenReturn(1);
+
+        service.patch(1L, new NeurotechClientDto(null, null, 35, null));
+
+        verify(repository).patchById(1L, null, 35, null);
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void patch_ShouldFeedSnapshotWithFullRowWhenLoaded() {
+        when(columnStore.isLoaded()).thenReturn(true);
+        when(repository.patchById(1L, null, 35, null)).thenReturn(1);
+        when(repository.findById(1L)).thenReturn(Optional.of(
+                NeurotechClient.builder().id(1L).name("Ana").age(35).income(5000.0).version(2L).build()));
+
+        service.patch(1L, new NeurotechClientDto(null, null, 35, null));
+
+        verify(columnStore).onReplaced(1L, 2L, "Ana", 35, 5000.0);
+    }
+
+    @Test
+    void update_ShouldRunSingleUpdateWithoutReadingTheClientFirst() {
+        when(repository.replaceById(1L, "Ana", 30, 5000.0)).thenReturn(1);
+
+        NeurotechClientDto updated = service.update(1L, new NeurotechClientDto(null, "Ana", 30, 5000.0));
+
+        assertEquals(Long.valueOf(1L), updated.getKey());
+        assertEquals("Ana", updated.getName());
+        verify(repository, never()).findById(any());
+        verify(repository, never()).save(any());
+        verify(clientCache).invalidate(1L);
+    }
+
+    @Test
+    void update_ShouldRaiseNotFoundWhenNoRowIsUpdated() {
+        when(repository.replaceById(1L, "Ana", 30, 5000.0)).thenReturn(0);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> service.update(1L, new NeurotechClientDto(null, "Ana", 30, 5000.0)));
+
+        assertInstanceOf(ClientNotFoundException.class, ex.getCause());
+        verify(repository).replaceById(1L, "Ana", 30, 5000.0);
+        verifyNoMoreInteractions(repository);
+        verifyNoInteractions(clientCache, columnStore);
+    }
+
+    @Test
+    void patch_ShouldPassNullFieldsToQueryAndInvalidateCache() {
+        when(repository.patchById(1L, null, 35, null)).thenReturn(1);
+
+        service.patch(1L, new NeurotechClientDto(null, null, 35, null));
+
+        // Campos nulos seguem para o COALESCE do UPDATE, que mantém o valor atual (ver ClientRepositoryTest)
+        verify(repository).patchById(1L, null, 35, null);
+        verify(repository, never()).findById(any());
+        verify(repository, never()).save(any());
+        verify(clientCache).invalidate(1L);
+    }
+
+    @Test
+    void patch_ShouldRaiseNotFoundWhenNoRowIsUpdated() {
+        when(repository.patchById(1L, "Ana", null, null)).thenReturn(0);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> service.patch(1L, new NeurotechClientDto(null, "Ana", null, null)));
+
+        assertInstanceOf(ClientNotFoundException.class, ex.getCause());
+        verify(repository).patchById(1L, "Ana", null, null);
+        verifyNoMoreInteractions(repository);
+        verifyNoInteractions(clientCache, columnStore);
+    }
+
+    @Test
+    void delete_ShouldRunSingleDeleteAndUpdateCaches() {
+        when(repository.removeById(1L)).thenReturn(1);
+
+        service.delete(1L);
+
+        verify(repository).removeById(1L);
+        verifyNoMoreInteractions(repository);
+        verify(clientCache).invalidate(1L);
+        verify(columnStore).onDeleted(1L);
+    }
+
+    @Test
+    void delete_ShouldRaiseNotFoundWithoutCheckingExistenceFirst() {
+        when(repository.removeById(1L)).thenReturn(0);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> service.delete(1L));
+
+        assertInstanceOf(ClientNotFoundException.class, ex.getCause());
+        verify(repository).removeById(1L);
+        verifyNoMoreInteractions(repository);
+        verifyNoInteractions(clientCache, columnStore);
+    }
+
+    @Test
+    void create_ShouldKeepServiceUnavailableWhenGroupCommitDropsTheBatch() throws Exception {
+        ResponseStatusException rejected = new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Serviço em desligamento");
+        when(createWriter.isEnabled()).thenReturn(true);
+        when(createWriter.create(any())).thenThrow(new ExecutionException(rejected));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> service.create(new NeurotechClientDto(null, "Ana", 30, 5000.0)));
+
+        assertSame(rejected, ex);
+    }
+
+    @Test
+    void create_ShouldReportOtherGroupCommitFailuresAsInternalError() throws Exception {
+        IllegalStateException failure = new IllegalStateException("falha no lote");
+        when(createWriter.isEnabled()).thenReturn(true);
+        when(createWriter.create(any())).thenThrow(new ExecutionException(failure));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> service.create(new NeurotechClientDto(null, "Ana", 30, 5000.0)));
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, ex.getStatusCode());
+        assertSame(failure, ex.getCause());
+    }
+
+    private static List<NeurotechClient> clients(long firstId, int count) {
+        return LongStream.range(firstId, firstId + count)
+                .mapToObj(id -> NeurotechClient.builder().id(id).name("Cliente " + id).age(30).income(5000.0).build())
+                .toList();
+    }
+}
@@ -0,0 +1,246 @@
+package br.com.neurotech.challenge.service;
+
+import br.com.neurotech.challenge.cache.ClientCache;
+import br.com.neurotech.challenge.cache.CreditDecisionCache;
+import br.com.neurotech.challenge.dtos.CreditBatchResultDto;
+import br.com.neurotech.challenge.dtos.CreditCheckRequestDto;
+import br.com.neurotech.challenge.dtos.CreditCheckResponseDto;
+import br.com.neurotech.challenge.entity.CreditCheckStatus;
+import br.com.neurotech.challenge.entity.CreditDecision;
+import br.com.neurotech.challenge.entity.CreditModality;
+import br.com.neurotech.challenge.entity.CreditRejectionReason;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import br.com.neurotech.challenge.repositories.ClientRepository;
+import br.com.neurotech.challenge.repositories.CreditRepository;
+import br.com.neurotech.challenge.repositories.JpaClientStore;
+import br.com.neurotech.challenge.rules.CreditRuleEngine;
+import br.com.neurotech.challenge.snapshot.ClientColumnStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.hateoas.Link;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CreditServiceTest {
+
+    private final ClientRepository repository = mock(ClientRepository.class);
+    private final CreditRuleEngine ruleEngine =
+            new CreditRuleEngine(new DefaultResourceLoader(), new ObjectMapper(), "classpath:credit-rules.json");
+    private final JpaClientStore clientStore = new JpaClientStore(repository, null, null);
+    private final ClientCache clientCache = new ClientCache(clientStore, 100, Duration.ofMinutes(1));
+    private final CreditDecisionCache decisionCache = new CreditDecisionCache(100, Duration.ofMinutes(1));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CreditRepository creditRepository = mock(CreditRepository.class);
+    private final CreditService creditService = new CreditService(clientStore, ruleEngine, clientCache, decisionCache,
+            mock(ClientColumnStore.class), creditRepository, meterRegistry, Duration.ofSeconds(5));
+
+    @Test
+    void checkCredit_ShouldApproveWithModalityMessage() {
+        when(repository.findById(1L)).thenReturn(Optional.of(client(1L, "John Doe", 24, 6000.0)));
+
+        CreditCheckResponseDto response = creditService.checkCredit(1L, VehicleModel.HATCH);
+
+        assertTrue(response.isEligible());
+        assertEquals("John Doe", response.getClientName());
+        assertEquals("Apto para crédito automotivo na modalidade: Crédito com Juros Fixos (5% a.a)", response.getMessage());
+    }
+
+    @Test
+    void checkCredit_ShouldReturnRejectionWithoutThrowing() {
+        when(repository.findById(2L)).thenReturn(Optional.of(client(2L, "Jane Smith", 30, 7000.0)));
+
+        CreditCheckResponseDto response = creditService.checkCredit(2L, VehicleModel.SUV);
+
+        assertFalse(response.isEligible());
+        assertNull(response.getClientName());
+        assertEquals("Cliente não é elegível para crédito para veículo do tipo SUV.", response.getMessage());
+    }
+
+    @Test
+    void checkCredit_ShouldServeRepeatedChecksFromCache() {
+        when(repository.findById(3L)).thenReturn(Optional.of(client(3L, "Ana", 70, 9000.0)));
+
+        creditService.checkCredit(3L, VehicleModel.SUV);
+        creditService.checkCredit(3L, VehicleModel.HATCH);
+
+        verify(repository, times(1)).findById(3L);
+        assertEquals(1, clientCache.stats().hitCount());
+    }
+
+    @Test
+    void checkCredit_ShouldReuseDecisionUntilClientVersionChanges() {
+        when(repository.findById(4L)).thenReturn(Optional.of(client(4L, "Bia", 22, 9000.0)));
+
+        CreditCheckResponseDto first = creditService.checkCredit(4L, VehicleModel.SUV);
+        CreditCheckResponseDto second = creditService.checkCredit(4L, VehicleModel.SUV);
+        long generation = ruleEngine.current().generation();
+        assertNotNull(decisionCache.get(4L, 0L, generation, VehicleModel.SUV));
+        assertEquals(first.isEligible(), second.isEligible());
+        assertEquals(first.getMessage(), second.getMessage());
+
+        NeurotechClient updated = client(4L, "Bia", 22, 3000.0);
+        updated.setVersion(1L);
+        when(repository.findById(4L)).thenReturn(Optional.of(updated));
+        clientCache.invalidate(4L);
+
+        CreditCheckResponseDto afterUpdate = creditService.checkCredit(4L, VehicleModel.SUV);
+        assertNull(decisionCache.get(4L, 0L, generation, VehicleModel.SUV));
+        assertFalse(afterUpdate.isEligible());
+    }
+
+    @Test
+    void checkCredit_ShouldNotShareResponseInstancesBetweenCallers() {
+        when(repository.findById(9L)).thenReturn(Optional.of(client(9L, "Eva", 24, 6000.0)));
+
+        CreditCheckResponseDto first = creditService.checkCredit(9L, VehicleModel.HATCH);
+        first.setClientName("alterado");
+        first.add(Link.of("/outro"));
+
+        CreditCheckResponseDto second = creditService.checkCredit(9L, VehicleModel.HATCH);
+        assertNotSame(first, second);
+        assertEquals("Eva", second.getClientName());
+        assertFalse(second.hasLinks());
+    }
+
+    @Test
+    void checkCredit_ShouldRecordOutcomeMetrics() {
+        when(repository.findById(5L)).thenReturn(Optional.of(client(5L, "Caio", 30, 7000.0)));
+        when(repository.findById(6L)).thenReturn(Optional.empty());
+
+        creditService.checkCredit(5L, VehicleModel.HATCH);
+        creditService.checkCredit(5L, VehicleModel.SUV);
+        assertThrows(RuntimeException.class, () -> creditService.checkCredit(6L, VehicleModel.SUV));
+
+        assertEquals(1, meterRegistry.get("credit.check")
+                .tags("model", "HATCH", "outcome", "approved", "modality", "VARIABLE_INTEREST").timer().count());
+        assertEquals(1, meterRegistry.get("credit.check.rejections")
+                .tags("model", "SUV", "reason", "SUV_REQUIREMENTS_NOT_MET").counter().count());
+        assertEquals(1, meterRegistry.get("credit.check").tags("model", "SUV", "outcome", "not_found").timer().count());
+    }
+
+    @Test
+    void checkCredit_ShouldAppendEveryCheckToAuditLog() {
+        when(repository.findById(7L)).thenReturn(Optional.of(client(7L, "Duda", 24, 6000.0)));
+        when(repository.findById(8L)).thenReturn(Optional.empty());
+
+        creditService.checkCredit(7L, VehicleModel.HATCH);
+        // A resposta em cache não dispensa o registro
+        creditService.checkCredit(7L, VehicleModel.HATCH);
+        assertThrows(RuntimeException.class, () -> creditService.checkCredit(8L, VehicleModel.SUV));
+
+        verify(creditRepository, times(2)).append(7L, VehicleModel.HATCH, CreditDecision.approved(CreditModality.FIXED_INTEREST));
+        verify(creditRepository).appendNotFound(8L, VehicleModel.SUV);
+    }
+
+    @Test
+    void checkCredit_ShouldReadHotKeyOnceRegardlessOfConcurrencyWhenCoalescing() throws Exception {
+        for (int callers : new int[]{1, 8, 32}) {
+            assertEquals(1, hotKeyStoreReads(callers, Duration.ofSeconds(5)), callers + " chamadores");
+        }
+    }
+
+    @Test
+    void checkCredit_ShouldReadHotKeyOncePerCallerWithoutCoalescing() throws Exception {
+        for (int callers : new int[]{1, 8, 32}) {
+            assertEquals(callers, hotKeyStoreReads(callers, Duration.ZERO), callers + " chamadores");
+        }
+    }
+
+    // Dispara callers verificações simultâneas do mesmo (cliente, modelo) com o ClientCache desligado e devolve
+    // quantas vezes ClientStore.findById rodou. A leitura só termina quando todos os chamadores já entraram:
+    // com a junção, quando os demais estão esperando por ela; sem a junção, quando todos estão lendo ao mesmo tempo.
+    private int hotKeyStoreReads(int callers, Duration coalescingTimeout) throws Exception {
+        ClientRepository hotRepository = mock(ClientRepository.class);
+        JpaClientStore hotStore = new JpaClientStore(hotRepository, null, null);
+        SimpleMeterRegistry hotRegistry = new SimpleMeterRegistry();
+        CreditService service = new CreditService(hotStore, ruleEngine, new ClientCache(hotStore, 0, Duration.ofMinutes(1)),
+                new CreditDecisionCache(100, Duration.ofMinutes(1)), mock(ClientColumnStore.class), creditRepository, hotRegistry,
+                coalescingTimeout);
+
+        AtomicInteger reads = new AtomicInteger();
+        CountDownLatch readers = new CountDownLatch(callers);
+        when(hotRepository.findById(42L)).thenAnswer(invocation -> {
+            reads.incrementAndGet();
+            if (coalescingTimeout.isZero()) {
+                readers.countDown();
+                assertTrue(readers.await(5, TimeUnit.SECONDS));
+            } else {
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (hotRegistry.get("credit.check.coalesced").functionCounter().count() < callers - 1) {
+                    assertTrue(System.nanoTime() < deadline);
+                    Thread.sleep(1);
+                }
+            }
+            return Optional.of(client(42L, "Hot Key", 24, 6000.0));
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<CreditCheckResponseDto>> responses = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                responses.add(executor.submit(() -> {
+                    start.await();
+                    return service.checkCredit(42L, VehicleModel.HATCH);
+                }));
+            }
+            start.countDown();
+            for (Future<CreditCheckResponseDto> response : responses) {
+                assertTrue(response.get(10, TimeUnit.SECONDS).isEligible());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return reads.get();
+    }
+
+    @Test
+    void checkCreditBatch_ShouldReportNullElementsAsInvalidInOrder() {
+        when(repository.findAllById(any())).thenReturn(List.of(client(1L, "John Doe", 24, 6000.0)));
+        List<CreditCheckRequestDto> requests = new ArrayList<>();
+        requests.add(null);
+        requests.add(new CreditCheckRequestDto(1L, VehicleModel.HATCH));
+        requests.add(new CreditCheckRequestDto(99L, VehicleModel.SUV));
+
+        List<CreditBatchResultDto> results = new ArrayList<>();
+        creditService.checkCreditBatch(requests, results::add);
+
+        assertEquals(List.of(CreditCheckStatus.INVALID, CreditCheckStatus.ELIGIBLE, CreditCheckStatus.NOT_FOUND),
+                results.stream().map(CreditBatchResultDto::getStatus).toList());
+    }
+
+    @Test
+    void decide_ShouldRejectClientsWithoutModality() {
+        CreditDecision decision = creditService.decide(30, 3000.0, VehicleModel.HATCH);
+
+        assertFalse(decision.isApproved());
+        assertEquals(CreditRejectionReason.NO_CREDIT_MODALITY, decision.rejectionReason());
+        assertEquals("Cliente não atende aos critérios de crédito.", decision.message());
+    }
+
+    @Test
+    void decide_ShouldReuseDecisionInstances() {
+        assertSame(creditService.decide(70, 9000.0, VehicleModel.SUV), CreditDecision.approved(CreditModality.PAYROLL_DEDUCTED));
+        assertSame(creditService.decide(40, 20000.0, VehicleModel.HATCH), creditService.decide(30, 1000.0, VehicleModel.SUV));
+    }
+
+    private static NeurotechClient client(Long id, String name, int age, double income) {
+        return NeurotechClient.builder().id(id).name(name).age(age).income(income).build();
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.neurotech.challenge.service;
+
+import br.com.neurotech.challenge.dtos.EligibilityScanDto;
+import br.com.neurotech.challenge.dtos.ModelEligibilityDto;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import br.com.neurotech.challenge.rules.CompiledCreditRules;
+import br.com.neurotech.challenge.rules.CreditRuleEngine;
+import br.com.neurotech.challenge.snapshot.ClientColumnStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EligibilityScanServiceTest {
+
+    private final CompiledCreditRules rules =
+            new CreditRuleEngine(new DefaultResourceLoader(), new ObjectMapper(), "classpath:credit-rules.json").current();
+
+    @Test
+    void scan_ShouldMatchPerClientDecisionsAcrossChunks() {
+        ClientColumnStore store = new ClientColumnStore(null, true);
+        int clients = EligibilityScanService.CHUNK_ROWS * 3 + 123;
+        long[] expectedEligible = new long[VehicleModel.values().length];
+        Random random = new Random(11L);
+        for (long id = 1; id <= clients; id++) {
+            int age = 16 + random.nextInt(60);
+            double income = random.nextDouble() * 20000.0;
+            store.onReplaced(id, 0L, "Cliente " + id, age, income);
+            // O cliente 1 é removido abaixo e não pode entrar na contagem
+            for (VehicleModel model : VehicleModel.values()) {
+                expectedEligible[model.ordinal()] += id > 1 && rules.decide(age, income, model).isApproved() ? 1 : 0;
+            }
+        }
+        store.onDeleted(1L);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            EligibilityScanDto result = EligibilityScanService.scan(pool, rules, store, true);
+
+            assertEquals(clients - 1, result.scanned());
+            for (ModelEligibilityDto model : result.models()) {
+                long eligible = model.eligible();
+                assertEquals(clients - 1, eligible + model.rejected());
+                assertEquals(eligible, model.clients().size());
+                assertEquals(eligible, model.eligibleByModality().values().stream().mapToLong(Long::longValue).sum());
+                assertTrue(model.clients().stream().allMatch(client -> client.id() != 1L));
+                // Os aprovados saem na ordem das linhas, como na tabela
+                for (int i = 1; i < model.clients().size(); i++) {
+                    assertTrue(model.clients().get(i - 1).id() < model.clients().get(i).id());
+                }
+                assertEquals(expectedEligible[model.model().ordinal()], eligible);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
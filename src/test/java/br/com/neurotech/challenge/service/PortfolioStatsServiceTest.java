@@ -0,0 +1,118 @@
+package br.com.neurotech.challenge.service;
+
+import br.com.neurotech.challenge.dtos.PortfolioStatsDto;
+import br.com.neurotech.challenge.entity.CreditModality;
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import br.com.neurotech.challenge.repositories.ClientRepository;
+import br.com.neurotech.challenge.repositories.JpaClientStore;
+import br.com.neurotech.challenge.repositories.PortfolioStatsRepository;
+import br.com.neurotech.challenge.rules.CompiledCreditRules;
+import br.com.neurotech.challenge.rules.CreditRuleEngine;
+import br.com.neurotech.challenge.snapshot.ClientColumnStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PortfolioStatsServiceTest {
+
+    private final CreditRuleEngine ruleEngine =
+            new CreditRuleEngine(new DefaultResourceLoader(), new ObjectMapper(), "classpath:credit-rules.json");
+    private final ClientRepository clientRepository = mock(ClientRepository.class);
+    private final JpaClientStore clientStore =
+            new JpaClientStore(clientRepository, mock(EntityManager.class), mock(PlatformTransactionManager.class));
+    private final ClientColumnStore store = new ClientColumnStore(clientStore, true);
+
+    private JdbcTemplate jdbcTemplate;
+    private PortfolioStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:portfolio;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE neurotech_client (id BIGINT PRIMARY KEY, name VARCHAR(100), age INT, income DOUBLE)");
+
+        service = new PortfolioStatsService(new PortfolioStatsRepository(jdbcTemplate), ruleEngine, store, 2500, 8, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE neurotech_client");
+    }
+
+    @Test
+    void summary_ShouldMatchDatabaseAggregationAfterWrites() {
+        List<NeurotechClient> clients = new ArrayList<>();
+        Random random = new Random(5L);
+        for (long id = 1; id <= 2000; id++) {
+            // Rendas exatamente nos limites das regras para conferir os CASE do SQL
+            double income = id % 10 == 0 ? 5000.0 + 10_000.0 * (id % 20 == 0 ? 1 : 0) : random.nextDouble() * 25000.0;
+            NeurotechClient client = NeurotechClient.builder().id(id).name("Cliente " + id)
+                    .age(16 + random.nextInt(70)).income(income).build();
+            clients.add(client);
+            insert(client.getId(), client.getAge(), client.getIncome());
+        }
+        when(clientRepository.streamAllOrderedById()).thenReturn(clients.stream());
+        store.load();
+
+        assertSameTotals(service.fromDatabase(), service.fromSummary());
+        assertEquals(expectedEligible(clients, VehicleModel.SUV),
+                service.fromSummary().eligibleByModel().get(VehicleModel.SUV).longValue());
+
+        store.onReplaced(5000L, 1L, "Novo", 30, 9000.0);
+        insert(5000L, 30, 9000.0);
+        store.onReplaced(1L, 1L, clients.get(0).getName(), 70, clients.get(0).getIncome());
+        jdbcTemplate.update("UPDATE neurotech_client SET age = 70 WHERE id = 1");
+        store.onDeleted(2L);
+        jdbcTemplate.update("DELETE FROM neurotech_client WHERE id = 2");
+
+        PortfolioStatsDto summary = service.fromSummary();
+        assertEquals(2000, summary.clients());
+        assertSameTotals(service.fromDatabase(), summary);
+    }
+
+    @Test
+    void stats_ShouldFallBackToDatabaseWhileSnapshotIsNotLoaded() {
+        insert(1L, 70, 3000.0);
+
+        PortfolioStatsDto stats = service.stats(PortfolioStatsService.SOURCE_SUMMARY);
+
+        assertEquals(PortfolioStatsService.SOURCE_DATABASE, stats.source());
+        assertEquals(1L, stats.clientsByModality().get(CreditModality.PAYROLL_DEDUCTED.name()).longValue());
+        assertEquals(0L, stats.clientsByModality().get(PortfolioStatsDto.NOT_ELIGIBLE).longValue());
+        assertEquals(0L, stats.eligibleByModel().get(VehicleModel.HATCH).longValue());
+    }
+
+    private void insert(long id, int age, double income) {
+        jdbcTemplate.update("INSERT INTO neurotech_client (id, name, age, income) VALUES (?, ?, ?, ?)",
+                id, "Cliente " + id, age, income);
+    }
+
+    private long expectedEligible(List<NeurotechClient> clients, VehicleModel model) {
+        CompiledCreditRules rules = ruleEngine.current();
+        return clients.stream().filter(client -> rules.decide(client.getAge(), client.getIncome(), model).isApproved()).count();
+    }
+
+    private static void assertSameTotals(PortfolioStatsDto expected, PortfolioStatsDto actual) {
+        assertEquals(expected.clients(), actual.clients());
+        assertEquals(expected.rulesGeneration(), actual.rulesGeneration());
+        assertEquals(expected.clientsByModality(), actual.clientsByModality());
+        assertEquals(expected.eligibleByModel(), actual.eligibleByModel());
+        assertEquals(expected.incomeHistograms(), actual.incomeHistograms());
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.neurotech.challenge.service;
+
+import br.com.neurotech.challenge.dtos.CreditCheckResponseDto;
+import br.com.neurotech.challenge.entity.ClientSnapshot;
+import br.com.neurotech.challenge.entity.CreditDecision;
+import br.com.neurotech.challenge.entity.CreditModality;
+import br.com.neurotech.challenge.entity.VehicleModel;
+import br.com.neurotech.challenge.exceptions.ClientNotFoundException;
+import br.com.neurotech.challenge.repositories.CreditRepository;
+import br.com.neurotech.challenge.repositories.ReactiveClientStore;
+import br.com.neurotech.challenge.rules.CreditRuleEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReactiveCreditServiceTest {
+
+    private final ReactiveClientStore clientStore = mock(ReactiveClientStore.class);
+    private final CreditRepository creditRepository = mock(CreditRepository.class);
+    private final CreditService creditService = mock(CreditService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CreditRuleEngine ruleEngine =
+            new CreditRuleEngine(new DefaultResourceLoader(), new ObjectMapper(), "classpath:credit-rules.json");
+    private final ReactiveCreditService reactiveCreditService =
+            new ReactiveCreditService(clientStore, creditService, creditRepository, meterRegistry);
+
+    @Test
+    void checkCredit_ShouldApplySameRulesAsBlockingService() {
+        when(clientStore.findById(1L)).thenReturn(Mono.just(new ClientSnapshot(1L, 0L, "John Doe", 24, 6000.0)));
+        when(creditService.decide(24, 6000.0, VehicleModel.HATCH)).thenReturn(ruleEngine.decide(24, 6000.0, VehicleModel.HATCH));
+
+        CreditCheckResponseDto response = reactiveCreditService.checkCredit(1L, VehicleModel.HATCH).block();
+
+        assertNotNull(response);
+        assertTrue(response.isEligible());
+        assertEquals("John Doe", response.getClientName());
+        assertEquals("Apto para crédito automotivo na modalidade: Crédito com Juros Fixos (5% a.a)", response.getMessage());
+        verify(creditRepository).append(1L, VehicleModel.HATCH, CreditDecision.approved(CreditModality.FIXED_INTEREST));
+    }
+
+    @Test
+    void checkCredit_ShouldFailWithNotFoundWhenClientDoesNotExist() {
+        when(clientStore.findById(2L)).thenReturn(Mono.empty());
+
+        Mono<CreditCheckResponseDto> check = reactiveCreditService.checkCredit(2L, VehicleModel.SUV);
+
+        // Nada acontece antes da assinatura
+        verifyNoInteractions(creditRepository);
+        assertThrows(ClientNotFoundException.class, check::block);
+        verify(creditRepository).appendNotFound(2L, VehicleModel.SUV);
+    }
+
+    @Test
+    void checkCredit_ShouldRecordSameMetricsAsBlockingService() {
+        when(clientStore.findById(1L)).thenReturn(Mono.just(new ClientSnapshot(1L, 0L, "John Doe", 24, 6000.0)));
+        when(clientStore.findById(2L)).thenReturn(Mono.empty());
+        when(creditService.decide(24, 6000.0, VehicleModel.HATCH)).thenReturn(ruleEngine.decide(24, 6000.0, VehicleModel.HATCH));
+
+        reactiveCreditService.checkCredit(1L, VehicleModel.HATCH).block();
+        assertThrows(ClientNotFoundException.class, () -> reactiveCreditService.checkCredit(2L, VehicleModel.SUV).block());
+
+        assertEquals(1, meterRegistry.get("credit.check")
+                .tags("model", "HATCH", "outcome", "approved", "modality", "FIXED_INTEREST").timer().count());
+        assertEquals(1, meterRegistry.get("credit.check").tags("model", "SUV", "outcome", "not_found").timer().count());
+    }
+}
@@ -0,0 +1,124 @@
+package br.com.neurotech.challenge.snapshot;
+
+import br.com.neurotech.challenge.entity.NeurotechClient;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientColumnStoreTest {
+
+    // Sem transação ativa as alterações são aplicadas na hora
+    private final ClientColumnStore store = new ClientColumnStore(null, true);
+
+    @Test
+    void scan_ShouldReturnRowsInsideWindowThatPassFilter() {
+        store.onSaved(NeurotechClient.builder().id(1L).name("Ana").age(24).income(6000.0).build());
+        store.onSaved(NeurotechClient.builder().id(2L).name("Bia").age(24).income(20000.0).build());
+        store.onSaved(NeurotechClient.builder().id(3L).name("Caio").age(40).income(7000.0).build());
+        store.onSaved(NeurotechClient.builder().id(4L).name("Davi").age(null).income(7000.0).build());
+
+        List<String> names = store.scan(0, 30, 5000.0, 15000.0, (age, income) -> true, (id, name, age, income) -> name);
+
+        assertEquals(List.of("Ana"), names);
+        // Cliente sem idade nunca entra na varredura, mesmo com a faixa aberta
+        assertEquals(2, store.count(Integer.MIN_VALUE, 30, -Double.MAX_VALUE, Double.MAX_VALUE));
+    }
+
+    @Test
+    void writes_ShouldKeepSnapshotInSync() {
+        store.onReplaced(1L, 0L, "Ana", 24, 6000.0);
+        store.onReplaced(1L, 1L, "Ana", 24, 30000.0);
+        assertEquals(0, store.count(0, 100, 5000.0, 15000.0));
+
+        store.onReplaced(1L, 2L, "Ana Maria", 30, 9000.0);
+        assertEquals(List.of("Ana Maria"), store.scan(0, 100, 0.0, 10000.0, (age, income) -> true, (id, name, age, income) -> name));
+
+        store.onDeleted(1L);
+        assertEquals(0, store.size());
+        assertEquals(0, store.count(0, 100, -Double.MAX_VALUE, Double.MAX_VALUE));
+    }
+
+    @Test
+    void onDeleted_ShouldCompactAndKeepRemainingRowsAddressable() {
+        for (long id = 1; id <= 5000; id++) {
+            store.onReplaced(id, 0L, "Cliente " + id, 30, 8000.0);
+        }
+        for (long id = 1; id <= 5000; id += 2) {
+            store.onDeleted(id);
+        }
+
+        assertEquals(2500, store.size());
+        store.onReplaced(5000L, 1L, "Cliente 5000", 70, 8000.0);
+        assertEquals(List.of(5000L), store.scan(66, 100, 0.0, 10000.0, (age, income) -> true, (id, name, age, income) -> id));
+    }
+
+    @Test
+    void writes_ShouldIgnoreCallbacksOlderThanStoredVersion() {
+        // Dois PUTs concorrentes cujos afterCommit chegam invertidos: a versão 3 fica, a 2 é descartada
+        store.onReplaced(1L, 3L, "Ana", 40, 9000.0);
+        store.onReplaced(1L, 2L, "Ana", 24, 30000.0);
+
+        assertEquals(List.of(40), store.scan(0, 100, 0.0, 10000.0, (age, income) -> true, (id, name, age, income) -> age));
+        assertEquals(0, store.count(0, 100, 20000.0, 40000.0));
+    }
+
+    @Test
+    void writes_ShouldNotResurrectDeletedClient() {
+        store.onReplaced(1L, 1L, "Ana", 24, 6000.0);
+        store.onDeleted(1L);
+        store.onReplaced(1L, 2L, "Ana", 24, 6000.0);
+
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void scan_ShouldMapRowsAfterReleasingTheReadLock() {
+        store.onReplaced(1L, 1L, "Ana", 24, 6000.0);
+        AtomicBoolean writerFinished = new AtomicBoolean();
+
+        List<String> names = store.scan(0, 100, 0.0, 10000.0, (age, income) -> true, (id, name, age, income) -> {
+            // Uma escrita de outra thread precisa da trava de escrita: só termina se a varredura já a liberou
+            Thread writer = new Thread(() -> store.onReplaced(2L, 1L, "Bia", 30, 7000.0));
+            writer.start();
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            writerFinished.set(!writer.isAlive());
+            return name;
+        });
+
+        assertEquals(List.of("Ana"), names);
+        assertTrue(writerFinished.get());
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void longIntHashMap_ShouldMatchHashMapUnderRandomOperations() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(7L);
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextInt(2000) - 10;
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertEquals(removed == null ? LongIntHashMap.MISSING : removed, map.remove(key));
+            } else {
+                expected.put(key, i);
+                map.put(key, i);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (long key = -10; key < 1990; key++) {
+            assertEquals(expected.getOrDefault(key, LongIntHashMap.MISSING).intValue(), map.get(key));
+        }
+    }
+}